@@ -0,0 +1,39 @@
+package by.java_enterprice.jdbc.benchmark;
+
+import by.java_enterprice.jdbc.utils.ConnectionManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConnectionPoolBenchmark {
+
+    @Benchmark
+    @Threads(1)
+    public void borrowAndCloseUncontended(Blackhole blackhole) throws SQLException {
+        try (var connection = ConnectionManager.get()) {
+            blackhole.consume(connection);
+        }
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void borrowAndCloseContended(Blackhole blackhole) throws SQLException {
+        try (var connection = ConnectionManager.get()) {
+            blackhole.consume(connection);
+        }
+    }
+}
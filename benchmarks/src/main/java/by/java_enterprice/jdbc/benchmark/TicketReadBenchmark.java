@@ -0,0 +1,59 @@
+package by.java_enterprice.jdbc.benchmark;
+
+import by.java_enterprice.jdbc.dao.TicketDao;
+import by.java_enterprice.jdbc.dto.TicketFilter;
+import by.java_enterprice.jdbc.entity.Ticket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketReadBenchmark {
+    private final TicketDao ticketDao = TicketDao.getInstance();
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void loadIds() {
+        try (var tickets = ticketDao.streamAll()) {
+            ids = tickets.mapToLong(Ticket::getId).toArray();
+        }
+        if (ids.length == 0) {
+            throw new IllegalStateException("ticket table is empty");
+        }
+    }
+
+    @Benchmark
+    public Optional<Ticket> findById() {
+        return ticketDao.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public List<Ticket> findAllByFilter(Page page) {
+        return ticketDao.findAll(new TicketFilter(null, null, page.size, 0));
+    }
+
+    @State(Scope.Benchmark)
+    public static class Page {
+        @Param({"10", "100", "1000"})
+        private int size;
+    }
+}
@@ -0,0 +1,78 @@
+package by.java_enterprice.jdbc.benchmark;
+
+import by.java_enterprice.jdbc.dao.FlightDao;
+import by.java_enterprice.jdbc.dao.TicketDao;
+import by.java_enterprice.jdbc.entity.Flight;
+import by.java_enterprice.jdbc.entity.Ticket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketWriteBenchmark {
+    private static final int BATCH = 100;
+
+    private final TicketDao ticketDao = TicketDao.getInstance();
+    private final List<Long> inserted = new ArrayList<>();
+    private Flight flight;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void pickFlight() {
+        try (var flights = FlightDao.getInstance().streamAll()) {
+            flight = flights.findFirst().orElseThrow(() -> new IllegalStateException("flight table is empty"));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteInserted() {
+        ticketDao.deleteAll(inserted);
+        inserted.clear();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void save() {
+        for (int i = 0; i < BATCH; i++) {
+            inserted.add(ticketDao.save(newTicket()).getId());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void saveAll() {
+        List<Ticket> tickets = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            tickets.add(newTicket());
+        }
+        for (var ticket : ticketDao.saveAll(tickets)) {
+            inserted.add(ticket.getId());
+        }
+    }
+
+    private Ticket newTicket() {
+        var n = sequence++;
+        return new Ticket(null, "BENCH" + n, "Benchmark Passenger", "B" + (n % 1000), flight,
+                BigDecimal.valueOf(100));
+    }
+}
@@ -0,0 +1,74 @@
+package by.java_enterprice.jdbc.dao;
+
+import by.java_enterprice.jdbc.entity.Ticket;
+import by.java_enterprice.jdbc.utils.ConnectionManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketMappingBenchmark {
+    private static final String SQL = """
+            SELECT t.id, t.passport_no, t.passenger_name, t.flight_id, t.seat_no, t.cost, t.version,
+                    f.flight_no, f.departure_date, f.departure_airport_code, f.arrival_date,
+                    f.arrival_airport_code, f.aircraft_id, f.status
+            FROM ticket t
+            JOIN flight f on f.id = t.flight_id
+            ORDER BY t.id
+            LIMIT ?
+            """;
+
+    private final TicketDao ticketDao = TicketDao.getInstance();
+    private Connection connection;
+    private PreparedStatement statement;
+    private ResultSet result;
+
+    @Param({"100", "1000"})
+    private int rows;
+
+    @Setup(Level.Trial)
+    public void loadRows() throws SQLException {
+        connection = ConnectionManager.get();
+        statement = connection.prepareStatement(SQL, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        statement.setInt(1, rows);
+        result = statement.executeQuery();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws SQLException {
+        statement.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public void mapTickets(Blackhole blackhole) throws SQLException {
+        var mapper = ticketDao.ticketMapper(SQL, result);
+        result.beforeFirst();
+        while (result.next()) {
+            Ticket ticket = mapper.map(result);
+            blackhole.consume(ticket);
+        }
+    }
+}
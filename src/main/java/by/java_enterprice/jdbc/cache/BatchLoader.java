@@ -0,0 +1,131 @@
+package by.java_enterprice.jdbc.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+public class BatchLoader<K, V> implements AutoCloseable {
+    private final Function<Collection<K>, Map<K, V>> batchFunction;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final Executor worker;
+    private final ScheduledExecutorService scheduler;
+    private final Object lock = new Object();
+    private Map<K, CompletableFuture<Optional<V>>> pending = new HashMap<>();
+    private int inFlight;
+
+    public BatchLoader(String name, Function<Collection<K>, Map<K, V>> batchFunction,
+                       long windowMillis, int maxBatchSize, Executor worker) {
+        this.batchFunction = batchFunction;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.worker = worker;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "batch-loader-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public Optional<V> load(K key) {
+        try {
+            return loadAsync(key).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public CompletableFuture<Optional<V>> loadAsync(K key) {
+        CompletableFuture<Optional<V>> future;
+        Map<K, CompletableFuture<Optional<V>>> ready = null;
+        synchronized (lock) {
+            future = pending.get(key);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.put(key, future);
+            if (pending.size() >= maxBatchSize || (pending.size() == 1 && inFlight == 0)) {
+                ready = drain();
+            } else if (pending.size() == 1) {
+                scheduler.schedule(this::dispatchPending, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (ready != null) {
+            dispatch(ready);
+        }
+        return future;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        Map<K, CompletableFuture<Optional<V>>> remaining;
+        synchronized (lock) {
+            remaining = pending;
+            pending = new HashMap<>();
+        }
+        remaining.values().forEach(future -> future.cancel(false));
+    }
+
+    private void dispatchPending() {
+        Map<K, CompletableFuture<Optional<V>>> batch;
+        synchronized (lock) {
+            batch = drain();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    private Map<K, CompletableFuture<Optional<V>>> drain() {
+        var batch = pending;
+        pending = new HashMap<>();
+        if (!batch.isEmpty()) {
+            inFlight++;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<K, CompletableFuture<Optional<V>>> batch) {
+        try {
+            worker.execute(() -> execute(batch));
+        } catch (Throwable e) {
+            finished();
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private void execute(Map<K, CompletableFuture<Optional<V>>> batch) {
+        Map<K, V> found;
+        try {
+            found = batchFunction.apply(batch.keySet());
+        } catch (Throwable e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+            throw e;
+        } finally {
+            finished();
+        }
+        batch.forEach((key, future) -> future.complete(Optional.ofNullable(found.get(key))));
+    }
+
+    private void finished() {
+        synchronized (lock) {
+            inFlight--;
+        }
+    }
+}
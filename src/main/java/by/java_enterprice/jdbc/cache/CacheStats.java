@@ -0,0 +1,14 @@
+package by.java_enterprice.jdbc.cache;
+
+public record CacheStats(
+        long hits,
+        long misses,
+        long loads,
+        long evictions,
+        int size) {
+
+    public double hitRate() {
+        var requests = hits + misses;
+        return requests == 0 ? 0 : hits / (double) requests;
+    }
+}
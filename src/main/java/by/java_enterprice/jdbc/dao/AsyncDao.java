@@ -0,0 +1,19 @@
+package by.java_enterprice.jdbc.dao;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncDao<K, E> {
+    CompletableFuture<List<E>> findAll();
+    CompletableFuture<Optional<E>> findById(K id);
+    CompletableFuture<Map<K, E>> findAllById(Collection<K> ids);
+    CompletableFuture<E> save(E e);
+    CompletableFuture<Boolean> update(E e);
+    CompletableFuture<Boolean> delete(K id);
+    CompletableFuture<List<E>> saveAll(Collection<E> entities);
+    CompletableFuture<Integer> updateAll(Collection<E> entities);
+    CompletableFuture<Integer> deleteAll(Collection<K> ids);
+}
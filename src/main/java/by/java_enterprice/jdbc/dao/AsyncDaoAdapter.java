@@ -0,0 +1,69 @@
+package by.java_enterprice.jdbc.dao;
+
+import by.java_enterprice.jdbc.utils.DaoExecutors;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class AsyncDaoAdapter<K, E> implements AsyncDao<K, E> {
+    private final Dao<K, E> dao;
+    private final Executor executor;
+
+    public AsyncDaoAdapter(Dao<K, E> dao, Executor executor) {
+        this.dao = dao;
+        this.executor = executor;
+    }
+
+    public static <K, E> AsyncDao<K, E> of(Dao<K, E> dao) {
+        return new AsyncDaoAdapter<>(dao, DaoExecutors.shared());
+    }
+
+    @Override
+    public CompletableFuture<List<E>> findAll() {
+        return CompletableFuture.supplyAsync(dao::findAll, executor);
+    }
+
+    @Override
+    public CompletableFuture<Optional<E>> findById(K id) {
+        return CompletableFuture.supplyAsync(() -> dao.findById(id), executor);
+    }
+
+    @Override
+    public CompletableFuture<Map<K, E>> findAllById(Collection<K> ids) {
+        return CompletableFuture.supplyAsync(() -> dao.findAllById(ids), executor);
+    }
+
+    @Override
+    public CompletableFuture<E> save(E e) {
+        return CompletableFuture.supplyAsync(() -> dao.save(e), executor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> update(E e) {
+        return CompletableFuture.supplyAsync(() -> dao.update(e), executor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> delete(K id) {
+        return CompletableFuture.supplyAsync(() -> dao.delete(id), executor);
+    }
+
+    @Override
+    public CompletableFuture<List<E>> saveAll(Collection<E> entities) {
+        return CompletableFuture.supplyAsync(() -> dao.saveAll(entities), executor);
+    }
+
+    @Override
+    public CompletableFuture<Integer> updateAll(Collection<E> entities) {
+        return CompletableFuture.supplyAsync(() -> dao.updateAll(entities), executor);
+    }
+
+    @Override
+    public CompletableFuture<Integer> deleteAll(Collection<K> ids) {
+        return CompletableFuture.supplyAsync(() -> dao.deleteAll(ids), executor);
+    }
+}
@@ -0,0 +1,173 @@
+package by.java_enterprice.jdbc.dao;
+
+import by.java_enterprice.jdbc.utils.ConnectionManager;
+import by.java_enterprice.jdbc.utils.PropertiesUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+final class BatchExecutor {
+    private static final String BATCH_SIZE_KEY = "db.batch.size";
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final int BATCH_SIZE = batchSize();
+
+    static <E> List<E> insert(String sql, Collection<E> entities, StatementBinder<E> binder,
+                              KeyReader<E> keyReader) throws SQLException {
+        if (entities.isEmpty()) {
+            return List.of();
+        }
+
+        try (var connection = ConnectionManager.get();
+             var statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            return inTransaction(connection, () -> {
+                List<E> pending = new ArrayList<>(Math.min(entities.size(), BATCH_SIZE));
+                for (E entity : entities) {
+                    binder.bind(statement, entity);
+                    statement.addBatch();
+                    pending.add(entity);
+                    if (pending.size() == BATCH_SIZE) {
+                        executeInsert(statement, pending, keyReader);
+                    }
+                }
+                if (!pending.isEmpty()) {
+                    executeInsert(statement, pending, keyReader);
+                }
+                return new ArrayList<>(entities);
+            });
+        }
+    }
+
+    static <E> int execute(String sql, Collection<E> values, StatementBinder<E> binder) throws SQLException {
+        if (values.isEmpty()) {
+            return 0;
+        }
+
+        try (var connection = ConnectionManager.get();
+             var statement = connection.prepareStatement(sql)) {
+            return inTransaction(connection, () -> {
+                int rows = 0;
+                int batched = 0;
+                for (E value : values) {
+                    binder.bind(statement, value);
+                    statement.addBatch();
+                    if (++batched == BATCH_SIZE) {
+                        rows += sum(statement.executeBatch());
+                        batched = 0;
+                    }
+                }
+                if (batched > 0) {
+                    rows += sum(statement.executeBatch());
+                }
+                return rows;
+            });
+        }
+    }
+
+    static <E> int executeReturning(String sql, String[] keyColumns, Collection<E> values,
+                                    StatementBinder<E> binder, Function<E, Long> idGetter,
+                                    KeyReader<E> keyReader) throws SQLException {
+        if (values.isEmpty()) {
+            return 0;
+        }
+
+        try (var connection = ConnectionManager.get();
+             var statement = connection.prepareStatement(sql, keyColumns)) {
+            return inTransaction(connection, () -> {
+                int rows = 0;
+                int batched = 0;
+                Map<Long, E> pending = new HashMap<>();
+                for (E value : values) {
+                    binder.bind(statement, value);
+                    statement.addBatch();
+                    pending.put(idGetter.apply(value), value);
+                    if (++batched == BATCH_SIZE) {
+                        rows += executeReturning(statement, pending, keyReader);
+                        batched = 0;
+                    }
+                }
+                if (batched > 0) {
+                    rows += executeReturning(statement, pending, keyReader);
+                }
+                return rows;
+            });
+        }
+    }
+
+    private static <E> void executeInsert(PreparedStatement statement, List<E> pending,
+                                          KeyReader<E> keyReader) throws SQLException {
+        statement.executeBatch();
+        try (var keys = statement.getGeneratedKeys()) {
+            for (E entity : pending) {
+                if (!keys.next()) {
+                    break;
+                }
+                keyReader.read(entity, keys);
+            }
+        }
+        pending.clear();
+    }
+
+    private static <E> int executeReturning(PreparedStatement statement, Map<Long, E> pending,
+                                            KeyReader<E> keyReader) throws SQLException {
+        int rows = 0;
+        statement.executeBatch();
+        try (var keys = statement.getGeneratedKeys()) {
+            while (keys.next()) {
+                var entity = pending.get(keys.getLong("id"));
+                if (entity != null) {
+                    keyReader.read(entity, keys);
+                }
+                rows++;
+            }
+        }
+        pending.clear();
+        return rows;
+    }
+
+    private static <T> T inTransaction(Connection connection, SqlWork<T> work) throws SQLException {
+        var autoCommit = connection.getAutoCommit();
+        if (!autoCommit) {
+            return work.execute();
+        }
+
+        connection.setAutoCommit(false);
+        try {
+            var result = work.execute();
+            connection.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private static int sum(int[] counts) {
+        int rows = 0;
+        for (int count : counts) {
+            rows += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+        }
+        return rows;
+    }
+
+    private static int batchSize() {
+        String value = PropertiesUtil.get(BATCH_SIZE_KEY);
+        return value == null ? DEFAULT_BATCH_SIZE : Integer.parseInt(value);
+    }
+
+    @FunctionalInterface
+    private interface SqlWork<T> {
+        T execute() throws SQLException;
+    }
+
+    private BatchExecutor() {}
+}
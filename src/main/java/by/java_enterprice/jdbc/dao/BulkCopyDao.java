@@ -0,0 +1,215 @@
+package by.java_enterprice.jdbc.dao;
+
+import by.java_enterprice.jdbc.dto.CopyResult;
+import by.java_enterprice.jdbc.entity.Flight;
+import by.java_enterprice.jdbc.entity.FlightStatus;
+import by.java_enterprice.jdbc.entity.Ticket;
+import by.java_enterprice.jdbc.exception.DaoException;
+import by.java_enterprice.jdbc.metrics.Metrics;
+import by.java_enterprice.jdbc.metrics.QueryMetrics;
+import by.java_enterprice.jdbc.utils.ConnectionManager;
+import by.java_enterprice.jdbc.utils.TransactionManager;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.CopyOperation;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public class BulkCopyDao {
+    private final static BulkCopyDao INSTANCE = new BulkCopyDao();
+    private final static int BUFFER_SIZE = 64 * 1024;
+    private final static EnumTable<FlightStatus> STATUSES = new EnumTable<>(FlightStatus.class);
+
+    private final static QueryMetrics LOAD_TICKETS_METRICS = Metrics.query("BulkCopyDao.loadTickets");
+    private final static QueryMetrics EXPORT_TICKETS_METRICS = Metrics.query("BulkCopyDao.exportTickets");
+    private final static QueryMetrics LOAD_FLIGHTS_METRICS = Metrics.query("BulkCopyDao.loadFlights");
+    private final static QueryMetrics EXPORT_FLIGHTS_METRICS = Metrics.query("BulkCopyDao.exportFlights");
+
+    private final static String COPY_TICKETS_IN_SQL = """
+                                            COPY ticket (passport_no, passenger_name, flight_id, seat_no, cost)
+                                            FROM STDIN WITH (FORMAT csv)
+                                            """;
+
+    private final static String COPY_TICKETS_OUT_SQL = """
+                                            COPY (SELECT t.id, t.passport_no, t.passenger_name, t.flight_id, t.seat_no, t.cost,
+                                                         f.flight_no, f.departure_date, f.departure_airport_code, f.arrival_date,
+                                                         f.arrival_airport_code, f.aircraft_id, f.status
+                                                  FROM ticket t
+                                                  JOIN flight f on f.id = t.flight_id)
+                                            TO STDOUT WITH (FORMAT csv)
+                                            """;
+
+    private final static String COPY_FLIGHTS_IN_SQL = """
+                                            COPY flight (flight_no, departure_date, departure_airport_code, arrival_date,
+                                                         arrival_airport_code, aircraft_id, status)
+                                            FROM STDIN WITH (FORMAT csv)
+                                            """;
+
+    private final static String COPY_FLIGHTS_OUT_SQL = """
+                                            COPY (SELECT id, flight_no, departure_date, departure_airport_code, arrival_date,
+                                                         arrival_airport_code, aircraft_id, status
+                                                  FROM flight)
+                                            TO STDOUT WITH (FORMAT csv)
+                                            """;
+
+    public CopyResult loadTickets(Iterable<Ticket> tickets) {
+        Set<Long> flightIds = new HashSet<>();
+        var result = load(COPY_TICKETS_IN_SQL, tickets, LOAD_TICKETS_METRICS, (row, ticket) -> {
+            flightIds.add(ticket.getFlightId());
+            CsvCodec.appendField(row, ticket.getPassportNo());
+            CsvCodec.appendField(row, ticket.getPassengerName());
+            CsvCodec.appendField(row, ticket.getFlightId());
+            CsvCodec.appendField(row, ticket.getSeatNo());
+            CsvCodec.appendField(row, ticket.getCost());
+        });
+        TransactionManager.afterCommit(() -> flightIds.forEach(SeatIndex.getInstance()::invalidate));
+        return result;
+    }
+
+    public CopyResult loadFlights(Iterable<Flight> flights) {
+        return load(COPY_FLIGHTS_IN_SQL, flights, LOAD_FLIGHTS_METRICS, (row, flight) -> {
+            CsvCodec.appendField(row, flight.getFlightNo());
+            CsvCodec.appendField(row, flight.getDepartureDate());
+            CsvCodec.appendField(row, flight.getDepartureAirportCode());
+            CsvCodec.appendField(row, flight.getArrivalDate());
+            CsvCodec.appendField(row, flight.getArrivalAirportCode());
+            CsvCodec.appendField(row, flight.getAircraftId());
+            CsvCodec.appendField(row, flight.getStatus());
+        });
+    }
+
+    public CopyResult exportTickets(Consumer<Ticket> consumer) {
+        Map<Long, Flight> flights = new HashMap<>();
+        return export(COPY_TICKETS_OUT_SQL, 13, EXPORT_TICKETS_METRICS, fields -> {
+            var flightId = Long.valueOf(fields[3]);
+            var flight = flights.get(flightId);
+            if (flight == null) {
+                flight = buildFlight(flightId, fields, 6);
+                flights.put(flightId, flight);
+            }
+            consumer.accept(new Ticket(
+                    Long.valueOf(fields[0]),
+                    fields[1],
+                    fields[2],
+                    fields[4],
+                    flight,
+                    new BigDecimal(fields[5])
+            ));
+        });
+    }
+
+    public CopyResult exportFlights(Consumer<Flight> consumer) {
+        return export(COPY_FLIGHTS_OUT_SQL, 8, EXPORT_FLIGHTS_METRICS,
+                fields -> consumer.accept(buildFlight(Long.valueOf(fields[0]), fields, 1)));
+    }
+
+    private <E> CopyResult load(String sql, Iterable<E> entities, QueryMetrics metrics, RowWriter<E> writer) {
+        var start = System.nanoTime();
+        try (var connection = ConnectionManager.get()) {
+            var copyIn = copyManager(connection).copyIn(sql);
+            try {
+                var buffer = new byte[BUFFER_SIZE];
+                var row = new StringBuilder(256);
+                int position = 0;
+
+                for (E entity : entities) {
+                    row.setLength(0);
+                    writer.write(row, entity);
+                    var bytes = row.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+
+                    if (position + bytes.length > buffer.length) {
+                        copyIn.writeToCopy(buffer, 0, position);
+                        position = 0;
+                    }
+                    if (bytes.length > buffer.length) {
+                        copyIn.writeToCopy(bytes, 0, bytes.length);
+                    } else {
+                        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+                        position += bytes.length;
+                    }
+                }
+                if (position > 0) {
+                    copyIn.writeToCopy(buffer, 0, position);
+                }
+
+                var copied = copyIn.endCopy();
+                metrics.record(start, copied);
+                return new CopyResult(copied, System.nanoTime() - start);
+            } finally {
+                cancelIfActive(copyIn);
+            }
+        } catch (SQLException e) {
+            metrics.recordError(start);
+            throw new DaoException(e);
+        }
+    }
+
+    private CopyResult export(String sql, int columns, QueryMetrics metrics, Consumer<String[]> rowConsumer) {
+        var start = System.nanoTime();
+        try (var connection = ConnectionManager.getReadOnly()) {
+            var copyOut = copyManager(connection).copyOut(sql);
+            try {
+                long rows = 0;
+                byte[] line;
+                while ((line = copyOut.readFromCopy()) != null) {
+                    rowConsumer.accept(CsvCodec.parse(new String(line, StandardCharsets.UTF_8), columns));
+                    rows++;
+                }
+
+                metrics.record(start, rows);
+                return new CopyResult(rows, System.nanoTime() - start);
+            } finally {
+                cancelIfActive(copyOut);
+            }
+        } catch (SQLException e) {
+            metrics.recordError(start);
+            throw new DaoException(e);
+        }
+    }
+
+    private Flight buildFlight(Long id, String[] fields, int offset) {
+        return new Flight(
+                id,
+                fields[offset],
+                LocalDateTime.parse(fields[offset + 1].replace(' ', 'T')),
+                fields[offset + 2],
+                LocalDateTime.parse(fields[offset + 3].replace(' ', 'T')),
+                fields[offset + 4],
+                Long.valueOf(fields[offset + 5]),
+                STATUSES.get(fields[offset + 6])
+        );
+    }
+
+    private CopyManager copyManager(Connection connection) throws SQLException {
+        return connection.unwrap(PGConnection.class).getCopyAPI();
+    }
+
+    private void cancelIfActive(CopyOperation copy) {
+        try {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        } catch (SQLException ignored) {
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter<E> {
+        void write(StringBuilder row, E entity);
+    }
+
+    public static BulkCopyDao getInstance() {
+        return INSTANCE;
+    }
+
+    private BulkCopyDao() {}
+}
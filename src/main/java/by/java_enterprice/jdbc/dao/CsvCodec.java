@@ -0,0 +1,95 @@
+package by.java_enterprice.jdbc.dao;
+
+import java.util.Arrays;
+
+final class CsvCodec {
+
+    static StringBuilder appendField(StringBuilder row, Object value) {
+        if (row.length() > 0) {
+            row.append(',');
+        }
+        if (value == null) {
+            return row;
+        }
+
+        var text = value.toString();
+        if (!needsQuoting(text)) {
+            return row.append(text);
+        }
+
+        row.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                row.append('"');
+            }
+            row.append(c);
+        }
+        return row.append('"');
+    }
+
+    static String[] parse(String line, int columns) {
+        var fields = new String[columns];
+        var field = new StringBuilder();
+        int column = 0;
+        boolean quoted = false;
+        boolean wasQuoted = false;
+
+        int end = line.length();
+        while (end > 0 && (line.charAt(end - 1) == '\n' || line.charAt(end - 1) == '\r')) {
+            end--;
+        }
+
+        for (int i = 0; i < end; i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < end && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                if (column == columns - 1) {
+                    throw new IllegalArgumentException("Expected " + columns + " columns: " + line);
+                }
+                fields[column++] = toValue(field, wasQuoted);
+                field.setLength(0);
+                wasQuoted = false;
+            } else {
+                field.append(c);
+            }
+        }
+        fields[column++] = toValue(field, wasQuoted);
+
+        if (column != columns) {
+            throw new IllegalArgumentException("Expected " + columns + " columns but got " + column
+                                               + ": " + Arrays.toString(fields));
+        }
+        return fields;
+    }
+
+    private static String toValue(StringBuilder field, boolean wasQuoted) {
+        return field.length() == 0 && !wasQuoted ? null : field.toString();
+    }
+
+    private static boolean needsQuoting(String text) {
+        if (text.isEmpty()) {
+            return true;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CsvCodec() {}
+}
@@ -1,12 +1,18 @@
 package by.java_enterprice.jdbc.dao;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface Dao<K, E> {
     List<E> findAll();
     Optional<E> findById(K id);
+    Map<K, E> findAllById(Collection<K> ids);
     E save(E e);
     boolean update(E e);
     boolean delete(K id);
+    List<E> saveAll(Collection<E> entities);
+    int updateAll(Collection<E> entities);
+    int deleteAll(Collection<K> ids);
 }
@@ -0,0 +1,26 @@
+package by.java_enterprice.jdbc.dao;
+
+final class EnumTable<E extends Enum<E>> {
+    private final E[] constants;
+    private final String[] names;
+
+    EnumTable(Class<E> type) {
+        this.constants = type.getEnumConstants();
+        this.names = new String[constants.length];
+        for (int i = 0; i < constants.length; i++) {
+            names[i] = constants[i].name();
+        }
+    }
+
+    E get(String name) {
+        if (name == null) {
+            return null;
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return constants[i];
+            }
+        }
+        throw new IllegalArgumentException("No constant " + name + " in " + constants[0].getDeclaringClass());
+    }
+}
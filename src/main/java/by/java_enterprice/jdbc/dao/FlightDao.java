@@ -1,17 +1,55 @@
 package by.java_enterprice.jdbc.dao;
 
+import by.java_enterprice.jdbc.cache.BatchLoader;
+import by.java_enterprice.jdbc.cache.CacheStats;
+import by.java_enterprice.jdbc.cache.LruCache;
+import by.java_enterprice.jdbc.dto.ScanResult;
 import by.java_enterprice.jdbc.entity.Flight;
-import by.java_enterprice.jdbc.entity.FlightStatus;
 import by.java_enterprice.jdbc.exception.DaoException;
+import by.java_enterprice.jdbc.metrics.Metrics;
+import by.java_enterprice.jdbc.metrics.QueryMetrics;
 import by.java_enterprice.jdbc.utils.ConnectionManager;
+import by.java_enterprice.jdbc.utils.DaoExecutors;
+import by.java_enterprice.jdbc.utils.PropertiesUtil;
+import by.java_enterprice.jdbc.utils.TransactionManager;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class FlightDao implements Dao<Long, Flight> {
+    private final static String CACHE_MAX_SIZE_KEY = "flight.cache.max.size";
+    private final static String CACHE_TTL_KEY = "flight.cache.ttl.seconds";
+    private final static int DEFAULT_CACHE_MAX_SIZE = 65_536;
+    private final static long DEFAULT_CACHE_TTL_SECONDS = 300;
+    private final static String LOADER_WINDOW_KEY = "flight.loader.window.ms";
+    private final static String LOADER_MAX_BATCH_KEY = "flight.loader.max.batch.size";
+    private final static long DEFAULT_LOADER_WINDOW_MILLIS = 2;
+    private final static int DEFAULT_LOADER_MAX_BATCH_SIZE = 500;
     private final static FlightDao INSTANCE = new FlightDao();
+    private final static MapperCache<FlightRowMapper> FLIGHT_MAPPERS =
+            new MapperCache<>(metaData -> FlightRowMapper.resolve(metaData, "id"));
+    private final LruCache<Long, Flight> cache;
+    private final BatchLoader<Long, Flight> loader;
+
+    private final static QueryMetrics FIND_ALL_METRICS = Metrics.query("FlightDao.findAll");
+    private final static QueryMetrics STREAM_ALL_METRICS = Metrics.query("FlightDao.streamAll");
+    private final static QueryMetrics PARALLEL_SCAN_METRICS = Metrics.query("FlightDao.parallelScan");
+    private final static QueryMetrics FIND_BY_ID_METRICS = Metrics.query("FlightDao.findById");
+    private final static QueryMetrics FIND_ALL_BY_ID_METRICS = Metrics.query("FlightDao.findAllById");
+    private final static QueryMetrics SAVE_METRICS = Metrics.query("FlightDao.save");
+    private final static QueryMetrics UPDATE_METRICS = Metrics.query("FlightDao.update");
+    private final static QueryMetrics DELETE_METRICS = Metrics.query("FlightDao.delete");
+    private final static QueryMetrics SAVE_ALL_METRICS = Metrics.query("FlightDao.saveAll");
+    private final static QueryMetrics UPDATE_ALL_METRICS = Metrics.query("FlightDao.updateAll");
+    private final static QueryMetrics DELETE_ALL_METRICS = Metrics.query("FlightDao.deleteAll");
 
     private final static String FIND_ALL_SQL = """
                                     SELECT id, flight_no, departure_date, departure_airport_code, arrival_date,
@@ -23,6 +61,22 @@ public class FlightDao implements Dao<Long, Flight> {
                                     WHERE id = ?
                                     """;
 
+    private final static String FIND_ALL_BY_ID_SQL = FIND_ALL_SQL + """
+                                    WHERE id = ANY(?)
+                                    """;
+
+    private final static String ID_RANGE_SQL = """
+                                    SELECT min(id), max(id)
+                                    FROM flight
+                                    """;
+
+    private final static String PARTITION_SQL = FIND_ALL_SQL + """
+                                    WHERE id >= ? AND id < ?
+                                    """;
+
+    private final static ParallelScan<Flight> PARALLEL_SCAN = new ParallelScan<>(ID_RANGE_SQL, PARTITION_SQL,
+            result -> FLIGHT_MAPPERS.get(PARTITION_SQL, result), PARALLEL_SCAN_METRICS);
+
     private final static String SAVE_SQL = """
                                     INSERT INTO flight
                                     (flight_no, departure_date, departure_airport_code, arrival_date,
@@ -49,26 +103,96 @@ public class FlightDao implements Dao<Long, Flight> {
                                     """;
     @Override
     public List<Flight> findAll() {
-        try(var connection = ConnectionManager.get();
+        var start = System.nanoTime();
+        try(var connection = ConnectionManager.getReadOnly();
             var statement = connection.prepareStatement(FIND_ALL_SQL)) {
             List<Flight> flights = new ArrayList<>();
 
             var result = statement.executeQuery();
+            var mapper = FLIGHT_MAPPERS.get(FIND_ALL_SQL, result);
 
             while (result.next()) {
                 flights.add(
-                        buildFlight(result)
+                        mapper.map(result)
                 );
             }
 
+            FIND_ALL_METRICS.record(start, flights.size());
             return flights;
         } catch (SQLException e) {
+            FIND_ALL_METRICS.recordError(start);
             throw new DaoException(e);
         }
     }
 
+    public Stream<Flight> streamAll() {
+        return StreamingQuery.stream(FIND_ALL_SQL, result -> FLIGHT_MAPPERS.get(FIND_ALL_SQL, result),
+                STREAM_ALL_METRICS);
+    }
+
+    public ScanResult scanAll(int parallelism, Consumer<Flight> consumer) {
+        return PARALLEL_SCAN.forEach(parallelism, consumer);
+    }
+
+    public Stream<Flight> parallelStreamAll(int parallelism) {
+        return PARALLEL_SCAN.stream(parallelism);
+    }
+
     @Override
     public Optional<Flight> findById(Long id) {
+        if (TransactionManager.isActive()) {
+            return findInTransaction(id);
+        }
+        return cache.get(id, loader::load).map(FlightDao::copy);
+    }
+
+    public CacheStats cacheStats() {
+        return cache.stats();
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public Map<Long, Flight> findAllById(Collection<Long> ids) {
+        if (TransactionManager.isActive()) {
+            return loadAllById(ids);
+        }
+        Map<Long, Flight> flights = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            var cached = cache.getIfPresent(id);
+            if (cached != null) {
+                flights.put(id, copy(cached));
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            flights.putAll(loadAllById(misses));
+        }
+        return flights;
+    }
+
+    private Map<Long, Flight> loadAllById(Collection<Long> ids) {
+        var start = System.nanoTime();
+        try {
+            var flights = IdLookup.find(FIND_ALL_BY_ID_SQL, ids,
+                    result -> FLIGHT_MAPPERS.get(FIND_ALL_BY_ID_SQL, result), Flight::getId);
+            FIND_ALL_BY_ID_METRICS.record(start, flights.size());
+            return flights;
+        } catch (SQLException e) {
+            FIND_ALL_BY_ID_METRICS.recordError(start);
+            throw new DaoException(e);
+        }
+    }
+
+    private Optional<Flight> findInTransaction(Long id) {
         try (var connection = ConnectionManager.get()) {
             return findById(id, connection);
         } catch (SQLException e) {
@@ -77,6 +201,7 @@ public class FlightDao implements Dao<Long, Flight> {
     }
 
     public Optional<Flight> findById(Long id, Connection connection) {
+        var start = System.nanoTime();
         try(
             var statement = connection.prepareStatement(FIND_BY_ID_SQL)) {
             statement.setLong(1, id);
@@ -84,60 +209,163 @@ public class FlightDao implements Dao<Long, Flight> {
 
             Flight flight = null;
             if (result.next()) {
-                flight = buildFlight(result);
+                flight = FLIGHT_MAPPERS.get(FIND_BY_ID_SQL, result).map(result);
             }
+            FIND_BY_ID_METRICS.record(start, flight == null ? 0 : 1);
             return Optional.ofNullable(flight);
         } catch (SQLException e) {
+            FIND_BY_ID_METRICS.recordError(start);
             throw new DaoException(e);
         }
     }
 
     @Override
     public Flight save(Flight flight) {
+        var start = System.nanoTime();
         try(var connection = ConnectionManager.get();
             var statement = connection.prepareStatement(SAVE_SQL, Statement.RETURN_GENERATED_KEYS)) {
-            statement.setString(1, flight.getFlightNo());
-            statement.setTimestamp(2, Timestamp.valueOf(flight.getDepartureDate()));
-            statement.setString(3, flight.getDepartureAirportCode());
-            statement.setTimestamp(4, Timestamp.valueOf(flight.getArrivalDate()));
-            statement.setString(5, flight.getArrivalAirportCode());
-            statement.setLong(6, flight.getAircraftId());
-            statement.setObject(7,flight.getStatus());
-
-            var result = statement.executeUpdate();
+            bindSave(statement, flight);
+
+            var rows = statement.executeUpdate();
+            var keys = statement.getGeneratedKeys();
+            if (keys.next()) {
+                flight.setId(keys.getLong("id"));
+            }
+
+            invalidateAfterCommit(flight.getId());
+            SAVE_METRICS.record(start, rows);
+            return flight;
         } catch (SQLException e) {
-            throw new RuntimeException(e);
+            SAVE_METRICS.recordError(start);
+            throw new DaoException(e);
         }
-
-        return null;
     }
 
     @Override
     public boolean update(Flight flight) {
-        return false;
+        var start = System.nanoTime();
+        try(var connection = ConnectionManager.get();
+            var statement = connection.prepareStatement(UPDATE_SQL)) {
+            bindUpdate(statement, flight);
+
+            var rows = statement.executeUpdate();
+            invalidateAfterCommit(flight.getId());
+            UPDATE_METRICS.record(start, rows);
+            return rows > 0;
+        } catch (SQLException e) {
+            UPDATE_METRICS.recordError(start);
+            throw new DaoException(e);
+        }
     }
 
     @Override
     public boolean delete(Long id) {
-        return false;
+        var start = System.nanoTime();
+        try(var connection = ConnectionManager.get();
+            var statement = connection.prepareStatement(DELETE_SQL)) {
+            statement.setLong(1, id);
+
+            var rows = statement.executeUpdate();
+            invalidateAfterCommit(id);
+            DELETE_METRICS.record(start, rows);
+            return rows > 0;
+        } catch (SQLException e) {
+            DELETE_METRICS.recordError(start);
+            throw new DaoException(e);
+        }
+    }
+
+    @Override
+    public List<Flight> saveAll(Collection<Flight> flights) {
+        var start = System.nanoTime();
+        try {
+            var saved = BatchExecutor.insert(SAVE_SQL, flights, this::bindSave,
+                    (flight, keys) -> flight.setId(keys.getLong("id")));
+            SAVE_ALL_METRICS.record(start, saved.size());
+            return saved;
+        } catch (SQLException e) {
+            SAVE_ALL_METRICS.recordError(start);
+            throw new DaoException(e);
+        }
     }
 
-    private Flight buildFlight(ResultSet result) throws SQLException {
+    @Override
+    public int updateAll(Collection<Flight> flights) {
+        var start = System.nanoTime();
+        try {
+            var rows = BatchExecutor.execute(UPDATE_SQL, flights, this::bindUpdate);
+            var ids = flights.stream().map(Flight::getId).toList();
+            TransactionManager.afterCommit(() -> ids.forEach(cache::invalidate));
+            UPDATE_ALL_METRICS.record(start, rows);
+            return rows;
+        } catch (SQLException e) {
+            UPDATE_ALL_METRICS.recordError(start);
+            throw new DaoException(e);
+        }
+    }
+
+    @Override
+    public int deleteAll(Collection<Long> ids) {
+        var start = System.nanoTime();
+        try {
+            var rows = BatchExecutor.execute(DELETE_SQL, ids, (statement, id) -> statement.setLong(1, id));
+            TransactionManager.afterCommit(() -> ids.forEach(cache::invalidate));
+            DELETE_ALL_METRICS.record(start, rows);
+            return rows;
+        } catch (SQLException e) {
+            DELETE_ALL_METRICS.recordError(start);
+            throw new DaoException(e);
+        }
+    }
+
+    private static Flight copy(Flight flight) {
         return new Flight(
-                result.getLong("id"),
-                result.getString("flight_no"),
-                result.getTimestamp("departure_date").toLocalDateTime(),
-                result.getString("departure_airport_code"),
-                result.getTimestamp("arrival_date").toLocalDateTime(),
-                result.getString("arrival_airport_code"),
-                result.getLong("aircraft_id"),
-                FlightStatus.valueOf(result.getString("status"))
+                flight.getId(),
+                flight.getFlightNo(),
+                flight.getDepartureDate(),
+                flight.getDepartureAirportCode(),
+                flight.getArrivalDate(),
+                flight.getArrivalAirportCode(),
+                flight.getAircraftId(),
+                flight.getStatus()
         );
     }
 
+    private void invalidateAfterCommit(Long id) {
+        TransactionManager.afterCommit(() -> cache.invalidate(id));
+    }
+
+    private void bindSave(PreparedStatement statement, Flight flight) throws SQLException {
+        statement.setString(1, flight.getFlightNo());
+        statement.setTimestamp(2, Timestamp.valueOf(flight.getDepartureDate()));
+        statement.setString(3, flight.getDepartureAirportCode());
+        statement.setTimestamp(4, Timestamp.valueOf(flight.getArrivalDate()));
+        statement.setString(5, flight.getArrivalAirportCode());
+        statement.setLong(6, flight.getAircraftId());
+        statement.setString(7, flight.getStatus().name());
+    }
+
+    private void bindUpdate(PreparedStatement statement, Flight flight) throws SQLException {
+        bindSave(statement, flight);
+        statement.setLong(8, flight.getId());
+    }
+
     public static FlightDao getInstance() {
         return INSTANCE;
     }
 
-    private FlightDao() {}
+    private FlightDao() {
+        String maxSize = PropertiesUtil.get(CACHE_MAX_SIZE_KEY);
+        String ttl = PropertiesUtil.get(CACHE_TTL_KEY);
+        cache = new LruCache<>(
+                maxSize == null ? DEFAULT_CACHE_MAX_SIZE : Integer.parseInt(maxSize),
+                ttl == null ? DEFAULT_CACHE_TTL_SECONDS : Long.parseLong(ttl),
+                TimeUnit.SECONDS);
+        String window = PropertiesUtil.get(LOADER_WINDOW_KEY);
+        String maxBatchSize = PropertiesUtil.get(LOADER_MAX_BATCH_KEY);
+        loader = new BatchLoader<>("flight", this::loadAllById,
+                window == null ? DEFAULT_LOADER_WINDOW_MILLIS : Long.parseLong(window),
+                maxBatchSize == null ? DEFAULT_LOADER_MAX_BATCH_SIZE : Integer.parseInt(maxBatchSize),
+                DaoExecutors.newBoundedExecutor("flight-loader", ConnectionManager.pool().config().maxSize()));
+    }
 }
@@ -0,0 +1,65 @@
+package by.java_enterprice.jdbc.dao;
+
+import by.java_enterprice.jdbc.entity.Flight;
+import by.java_enterprice.jdbc.entity.FlightStatus;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+final class FlightRowMapper implements RowMapper<Flight> {
+    private static final EnumTable<FlightStatus> STATUSES = new EnumTable<>(FlightStatus.class);
+
+    private final int id;
+    private final int flightNo;
+    private final int departureDate;
+    private final int departureAirportCode;
+    private final int arrivalDate;
+    private final int arrivalAirportCode;
+    private final int aircraftId;
+    private final int status;
+
+    static FlightRowMapper resolve(ResultSetMetaData metaData, String idLabel) throws SQLException {
+        return new FlightRowMapper(
+                MapperCache.columnIndex(metaData, idLabel),
+                MapperCache.columnIndex(metaData, "flight_no"),
+                MapperCache.columnIndex(metaData, "departure_date"),
+                MapperCache.columnIndex(metaData, "departure_airport_code"),
+                MapperCache.columnIndex(metaData, "arrival_date"),
+                MapperCache.columnIndex(metaData, "arrival_airport_code"),
+                MapperCache.columnIndex(metaData, "aircraft_id"),
+                MapperCache.columnIndex(metaData, "status")
+        );
+    }
+
+    private FlightRowMapper(int id, int flightNo, int departureDate, int departureAirportCode,
+                            int arrivalDate, int arrivalAirportCode, int aircraftId, int status) {
+        this.id = id;
+        this.flightNo = flightNo;
+        this.departureDate = departureDate;
+        this.departureAirportCode = departureAirportCode;
+        this.arrivalDate = arrivalDate;
+        this.arrivalAirportCode = arrivalAirportCode;
+        this.aircraftId = aircraftId;
+        this.status = status;
+    }
+
+    long id(ResultSet result) throws SQLException {
+        return result.getLong(id);
+    }
+
+    @Override
+    public Flight map(ResultSet result) throws SQLException {
+        return new Flight(
+                result.getLong(id),
+                result.getString(flightNo),
+                result.getObject(departureDate, LocalDateTime.class),
+                result.getString(departureAirportCode),
+                result.getObject(arrivalDate, LocalDateTime.class),
+                result.getString(arrivalAirportCode),
+                result.getLong(aircraftId),
+                STATUSES.get(result.getString(status))
+        );
+    }
+}
@@ -0,0 +1,54 @@
+package by.java_enterprice.jdbc.dao;
+
+import by.java_enterprice.jdbc.utils.ConnectionManager;
+import by.java_enterprice.jdbc.utils.PropertiesUtil;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+final class IdLookup {
+    private static final String CHUNK_SIZE_KEY = "db.lookup.chunk.size";
+    private static final int DEFAULT_CHUNK_SIZE = 1000;
+    private static final int CHUNK_SIZE = chunkSize();
+
+    static <E> Map<Long, E> find(String sql, Collection<Long> ids, StreamingQuery.MapperFactory<E> mapperFactory,
+                                 Function<E, Long> idGetter) throws SQLException {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinct.removeIf(Objects::isNull);
+        Map<Long, E> found = new HashMap<>();
+        if (distinct.isEmpty()) {
+            return found;
+        }
+
+        try (var connection = ConnectionManager.get();
+             var statement = connection.prepareStatement(sql)) {
+            for (int from = 0; from < distinct.size(); from += CHUNK_SIZE) {
+                var chunk = distinct.subList(from, Math.min(from + CHUNK_SIZE, distinct.size()));
+                statement.setArray(1, connection.createArrayOf("bigint", chunk.toArray()));
+
+                try (var result = statement.executeQuery()) {
+                    var mapper = mapperFactory.create(result);
+                    while (result.next()) {
+                        var entity = mapper.map(result);
+                        found.put(idGetter.apply(entity), entity);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private static int chunkSize() {
+        String value = PropertiesUtil.get(CHUNK_SIZE_KEY);
+        return value == null ? DEFAULT_CHUNK_SIZE : Integer.parseInt(value);
+    }
+
+    private IdLookup() {}
+}
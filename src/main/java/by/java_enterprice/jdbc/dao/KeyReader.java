@@ -0,0 +1,9 @@
+package by.java_enterprice.jdbc.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+@FunctionalInterface
+interface KeyReader<E> {
+    void read(E e, ResultSet keys) throws SQLException;
+}
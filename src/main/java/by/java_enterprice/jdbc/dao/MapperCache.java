@@ -0,0 +1,42 @@
+package by.java_enterprice.jdbc.dao;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class MapperCache<M> {
+    private final Map<String, M> mappers = new ConcurrentHashMap<>();
+    private final Resolver<M> resolver;
+
+    MapperCache(Resolver<M> resolver) {
+        this.resolver = resolver;
+    }
+
+    M get(String sql, ResultSet result) throws SQLException {
+        var mapper = mappers.get(sql);
+        if (mapper == null) {
+            mapper = resolver.resolve(result.getMetaData());
+            var existing = mappers.putIfAbsent(sql, mapper);
+            if (existing != null) {
+                mapper = existing;
+            }
+        }
+        return mapper;
+    }
+
+    static int columnIndex(ResultSetMetaData metaData, String label) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (metaData.getColumnLabel(i).equalsIgnoreCase(label)) {
+                return i;
+            }
+        }
+        throw new SQLException("Column " + label + " is not part of the result set");
+    }
+
+    @FunctionalInterface
+    interface Resolver<M> {
+        M resolve(ResultSetMetaData metaData) throws SQLException;
+    }
+}
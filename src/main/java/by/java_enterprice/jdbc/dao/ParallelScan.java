@@ -0,0 +1,218 @@
+package by.java_enterprice.jdbc.dao;
+
+import by.java_enterprice.jdbc.dto.ScanResult;
+import by.java_enterprice.jdbc.exception.DaoException;
+import by.java_enterprice.jdbc.metrics.QueryMetrics;
+import by.java_enterprice.jdbc.utils.ConnectionManager;
+import by.java_enterprice.jdbc.utils.DaoExecutors;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+final class ParallelScan<E> {
+    private static final int PARTITIONS_PER_THREAD = 4;
+    private static final int QUEUE_CAPACITY_PER_THREAD = 1024;
+    private static final Object END = new Object();
+
+    private final String rangeSql;
+    private final String partitionSql;
+    private final StreamingQuery.MapperFactory<E> mapperFactory;
+    private final QueryMetrics metrics;
+
+    ParallelScan(String rangeSql, String partitionSql, StreamingQuery.MapperFactory<E> mapperFactory,
+                 QueryMetrics metrics) {
+        this.rangeSql = rangeSql;
+        this.partitionSql = partitionSql;
+        this.mapperFactory = mapperFactory;
+        this.metrics = metrics;
+    }
+
+    ScanResult forEach(int parallelism, Consumer<? super E> consumer) {
+        var start = System.nanoTime();
+        var threads = boundedParallelism(parallelism);
+        var rows = new AtomicLong();
+        var executor = DaoExecutors.newBoundedExecutor("parallel-scan", threads);
+        try {
+            var tasks = submit(executor, partitions(threads), entity -> {
+                consumer.accept(entity);
+                rows.incrementAndGet();
+            });
+            await(tasks);
+            return new ScanResult(rows.get(), tasks.size(), System.nanoTime() - start);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    Stream<E> stream(int parallelism) {
+        var threads = boundedParallelism(parallelism);
+        var executor = DaoExecutors.newBoundedExecutor("parallel-scan", threads);
+        var merged = new MergedSpliterator(new ArrayBlockingQueue<>(threads * QUEUE_CAPACITY_PER_THREAD));
+        try {
+            var tasks = submit(executor, partitions(threads), merged::put);
+            failFast(tasks)
+                    .whenComplete((ignored, failure) -> {
+                        try {
+                            merged.put(failure == null ? END : failure);
+                        } finally {
+                            if (failure == null) {
+                                executor.shutdown();
+                            } else {
+                                executor.shutdownNow();
+                            }
+                        }
+                    });
+        } catch (RuntimeException e) {
+            executor.shutdownNow();
+            throw e;
+        }
+        return StreamSupport.stream(merged, false).onClose(() -> {
+            merged.cancel();
+            executor.shutdownNow();
+        });
+    }
+
+    private List<CompletableFuture<Void>> submit(ExecutorService executor, List<long[]> partitions,
+                                                 Consumer<? super E> consumer) {
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(partitions.size());
+        for (long[] partition : partitions) {
+            tasks.add(CompletableFuture.runAsync(() -> {
+                try (var rows = StreamingQuery.stream(partitionSql, partition, (statement, range) -> {
+                    statement.setLong(1, range[0]);
+                    statement.setLong(2, range[1]);
+                }, mapperFactory, metrics)) {
+                    rows.forEach(consumer);
+                }
+            }, executor));
+        }
+        return tasks;
+    }
+
+    private List<long[]> partitions(int threads) {
+        long min;
+        long max;
+        try (var connection = ConnectionManager.getReadOnly();
+             var statement = connection.prepareStatement(rangeSql)) {
+            var result = statement.executeQuery();
+            if (!result.next() || result.getObject(1) == null) {
+                return List.of();
+            }
+            min = result.getLong(1);
+            max = result.getLong(2);
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+
+        var span = max - min + 1;
+        var count = (int) Math.min(span, (long) threads * PARTITIONS_PER_THREAD);
+        var step = (span + count - 1) / count;
+        List<long[]> partitions = new ArrayList<>(count);
+        for (long lower = min; lower <= max; lower += step) {
+            partitions.add(new long[]{lower, Math.min(lower + step, max + 1)});
+        }
+        return partitions;
+    }
+
+    private static void await(List<CompletableFuture<Void>> tasks) {
+        try {
+            failFast(tasks).join();
+        } catch (CompletionException e) {
+            var cause = e.getCause() == null ? e : e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new DaoException(cause);
+        }
+    }
+
+    private static CompletableFuture<Void> failFast(List<CompletableFuture<Void>> tasks) {
+        var firstFailure = new CompletableFuture<Void>();
+        for (var task : tasks) {
+            task.whenComplete((ignored, failure) -> {
+                if (failure != null && firstFailure.completeExceptionally(failure)) {
+                    tasks.forEach(other -> other.cancel(true));
+                }
+            });
+        }
+        var all = CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new));
+        return CompletableFuture.anyOf(firstFailure, all).thenApply(ignored -> null);
+    }
+
+    private static int boundedParallelism(int parallelism) {
+        var available = ConnectionManager.pool().config().maxSize() - 1;
+        return Math.max(1, Math.min(parallelism, available));
+    }
+
+    private class MergedSpliterator extends Spliterators.AbstractSpliterator<E> {
+        private final BlockingQueue<Object> queue;
+        private volatile boolean cancelled;
+        private boolean done;
+
+        private MergedSpliterator(BlockingQueue<Object> queue) {
+            super(Long.MAX_VALUE, Spliterator.NONNULL);
+            this.queue = queue;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (done) {
+                return false;
+            }
+            Object next;
+            try {
+                next = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DaoException(e);
+            }
+            if (next == END) {
+                done = true;
+                return false;
+            }
+            if (next instanceof Throwable failure) {
+                done = true;
+                var cause = failure instanceof CompletionException && failure.getCause() != null
+                        ? failure.getCause() : failure;
+                throw cause instanceof RuntimeException runtime ? runtime : new DaoException(cause);
+            }
+            action.accept((E) next);
+            return true;
+        }
+
+        private void put(Object value) {
+            try {
+                var offered = false;
+                while (!cancelled && !offered) {
+                    offered = queue.offer(value, 100, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (cancelled) {
+                throw new DaoException(new InterruptedException("Parallel scan was cancelled"));
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+            queue.clear();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package by.java_enterprice.jdbc.dao;
+
+import by.java_enterprice.jdbc.dto.DailyRevenue;
+import by.java_enterprice.jdbc.dto.FlightRevenue;
+import by.java_enterprice.jdbc.dto.RouteRevenue;
+import by.java_enterprice.jdbc.dto.StatusRevenue;
+import by.java_enterprice.jdbc.entity.FlightStatus;
+import by.java_enterprice.jdbc.exception.DaoException;
+import by.java_enterprice.jdbc.metrics.Metrics;
+import by.java_enterprice.jdbc.metrics.QueryMetrics;
+import by.java_enterprice.jdbc.utils.ConnectionManager;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ReportDao {
+    private final static ReportDao INSTANCE = new ReportDao();
+    private final static EnumTable<FlightStatus> STATUSES = new EnumTable<>(FlightStatus.class);
+
+    private final static QueryMetrics REVENUE_BY_FLIGHT_METRICS = Metrics.query("ReportDao.revenueByFlight");
+    private final static QueryMetrics REVENUE_BY_ROUTE_METRICS = Metrics.query("ReportDao.revenueByRoute");
+    private final static QueryMetrics REVENUE_BY_STATUS_METRICS = Metrics.query("ReportDao.revenueByStatus");
+    private final static QueryMetrics REVENUE_BY_DAY_METRICS = Metrics.query("ReportDao.revenueByDay");
+
+    private final static String DEPARTURE_RANGE_SQL = """
+                                    FROM flight f
+                                    LEFT JOIN ticket t on t.flight_id = f.id
+                                    WHERE f.departure_date >= COALESCE(?, '-infinity'::timestamp)
+                                      AND f.departure_date < COALESCE(?, 'infinity'::timestamp)
+                                    """;
+
+    private final static String REVENUE_BY_FLIGHT_SQL = """
+                                    SELECT f.id, f.flight_no, COUNT(t.id) AS tickets, COALESCE(SUM(t.cost), 0) AS revenue
+                                    """ + DEPARTURE_RANGE_SQL + """
+                                    GROUP BY f.id, f.flight_no
+                                    ORDER BY revenue DESC, f.id
+                                    """;
+
+    private final static String REVENUE_BY_ROUTE_SQL = """
+                                    SELECT f.departure_airport_code, f.arrival_airport_code,
+                                           COUNT(DISTINCT f.id) AS flights, COUNT(t.id) AS tickets,
+                                           COALESCE(SUM(t.cost), 0) AS revenue
+                                    """ + DEPARTURE_RANGE_SQL + """
+                                    GROUP BY f.departure_airport_code, f.arrival_airport_code
+                                    ORDER BY revenue DESC, f.departure_airport_code, f.arrival_airport_code
+                                    """;
+
+    private final static String REVENUE_BY_STATUS_SQL = """
+                                    SELECT f.status, COUNT(DISTINCT f.id) AS flights, COUNT(t.id) AS tickets,
+                                           COALESCE(SUM(t.cost), 0) AS revenue
+                                    """ + DEPARTURE_RANGE_SQL + """
+                                    GROUP BY f.status
+                                    ORDER BY f.status
+                                    """;
+
+    private final static String REVENUE_BY_DAY_SQL = """
+                                    SELECT CAST(f.departure_date AS date) AS day, COUNT(DISTINCT f.id) AS flights,
+                                           COUNT(t.id) AS tickets, COALESCE(SUM(t.cost), 0) AS revenue
+                                    """ + DEPARTURE_RANGE_SQL + """
+                                    GROUP BY day
+                                    ORDER BY day
+                                    """;
+
+    public List<FlightRevenue> revenueByFlight(LocalDateTime from, LocalDateTime to) {
+        return aggregate(REVENUE_BY_FLIGHT_SQL, from, to, result -> new FlightRevenue(
+                result.getLong("id"),
+                result.getString("flight_no"),
+                result.getLong("tickets"),
+                result.getBigDecimal("revenue")
+        ), REVENUE_BY_FLIGHT_METRICS);
+    }
+
+    public List<RouteRevenue> revenueByRoute(LocalDateTime from, LocalDateTime to) {
+        return aggregate(REVENUE_BY_ROUTE_SQL, from, to, result -> new RouteRevenue(
+                result.getString("departure_airport_code"),
+                result.getString("arrival_airport_code"),
+                result.getLong("flights"),
+                result.getLong("tickets"),
+                result.getBigDecimal("revenue")
+        ), REVENUE_BY_ROUTE_METRICS);
+    }
+
+    public List<StatusRevenue> revenueByStatus(LocalDateTime from, LocalDateTime to) {
+        return aggregate(REVENUE_BY_STATUS_SQL, from, to, result -> new StatusRevenue(
+                STATUSES.get(result.getString("status")),
+                result.getLong("flights"),
+                result.getLong("tickets"),
+                result.getBigDecimal("revenue")
+        ), REVENUE_BY_STATUS_METRICS);
+    }
+
+    public List<DailyRevenue> revenueByDay(LocalDateTime from, LocalDateTime to) {
+        return aggregate(REVENUE_BY_DAY_SQL, from, to, result -> new DailyRevenue(
+                result.getObject("day", LocalDate.class),
+                result.getLong("flights"),
+                result.getLong("tickets"),
+                result.getBigDecimal("revenue")
+        ), REVENUE_BY_DAY_METRICS);
+    }
+
+    private <R> List<R> aggregate(String sql, LocalDateTime from, LocalDateTime to, RowMapper<R> mapper,
+                                  QueryMetrics metrics) {
+        var start = System.nanoTime();
+        try (var connection = ConnectionManager.getReadOnly();
+             var statement = connection.prepareStatement(sql)) {
+            statement.setObject(1, from);
+            statement.setObject(2, to);
+            List<R> rows = new ArrayList<>();
+
+            var result = statement.executeQuery();
+            while (result.next()) {
+                rows.add(mapper.map(result));
+            }
+
+            metrics.record(start, rows.size());
+            return rows;
+        } catch (SQLException e) {
+            metrics.recordError(start);
+            throw new DaoException(e);
+        }
+    }
+
+    private ReportDao() {}
+
+    public static ReportDao getInstance() {
+        return INSTANCE;
+    }
+}
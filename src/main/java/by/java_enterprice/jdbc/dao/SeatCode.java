@@ -0,0 +1,32 @@
+package by.java_enterprice.jdbc.dao;
+
+final class SeatCode {
+    static final int LETTERS = 26;
+    static final int INVALID = -1;
+
+    static int encode(String seatNo) {
+        if (seatNo == null || seatNo.length() < 2) {
+            return INVALID;
+        }
+        var last = seatNo.length() - 1;
+        var letter = Character.toUpperCase(seatNo.charAt(last)) - 'A';
+        if (letter < 0 || letter >= LETTERS) {
+            return INVALID;
+        }
+        int row = 0;
+        for (int i = 0; i < last; i++) {
+            var digit = seatNo.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || row > 100_000) {
+                return INVALID;
+            }
+            row = row * 10 + digit;
+        }
+        return row == 0 ? INVALID : (row - 1) * LETTERS + letter;
+    }
+
+    static String decode(int code) {
+        return (code / LETTERS + 1) + String.valueOf((char) ('A' + code % LETTERS));
+    }
+
+    private SeatCode() {}
+}
@@ -0,0 +1,237 @@
+package by.java_enterprice.jdbc.dao;
+
+import by.java_enterprice.jdbc.entity.Ticket;
+import by.java_enterprice.jdbc.exception.DaoException;
+import by.java_enterprice.jdbc.utils.ConnectionManager;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class SeatIndex implements TicketListener {
+    private final static String LOAD_SQL = """
+                                    SELECT id, seat_no
+                                    FROM ticket
+                                    WHERE flight_id = ?
+                                    """;
+
+    private final static int MAX_LOAD_ATTEMPTS = 3;
+
+    private final Map<Long, FlightSeats> flights = new ConcurrentHashMap<>();
+    private final Map<Long, Booking> bookings = new ConcurrentHashMap<>();
+    private final Map<Long, Long> flightChanges = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private final SeatLoader loader;
+    private long generation;
+
+    SeatIndex(SeatLoader loader) {
+        this.loader = loader;
+    }
+
+    public boolean isFree(Long flightId, String seatNo) {
+        var code = SeatCode.encode(seatNo);
+        if (code == SeatCode.INVALID) {
+            throw new IllegalArgumentException("Invalid seat number: " + seatNo);
+        }
+        return !seats(flightId).isOccupied(code);
+    }
+
+    public List<String> firstFree(Long flightId, int count, int rows, int seatsPerRow) {
+        if (seatsPerRow > SeatCode.LETTERS) {
+            throw new IllegalArgumentException("At most " + SeatCode.LETTERS + " seats per row are supported");
+        }
+        return seats(flightId).firstFree(count, rows, seatsPerRow);
+    }
+
+    public int occupiedSeats(Long flightId) {
+        return seats(flightId).occupied();
+    }
+
+    public void invalidate(Long flightId) {
+        flights.compute(flightId, (id, seats) -> {
+            flightChanges.merge(id, 1L, Long::sum);
+            if (seats != null) {
+                bookings.values().removeIf(booking -> booking.flightId() == id);
+            }
+            return null;
+        });
+    }
+
+    public void invalidateAll() {
+        synchronized (lock) {
+            generation++;
+            flights.clear();
+            bookings.clear();
+        }
+    }
+
+    @Override
+    public void onSaved(Ticket ticket) {
+        book(ticket);
+    }
+
+    @Override
+    public void onUpdated(Ticket ticket) {
+        release(ticket.getId());
+        book(ticket);
+    }
+
+    @Override
+    public void onDeleted(Long id) {
+        release(id);
+    }
+
+    private void book(Ticket ticket) {
+        var code = SeatCode.encode(ticket.getSeatNo());
+        if (ticket.getId() == null || ticket.getFlightId() == null || code == SeatCode.INVALID) {
+            return;
+        }
+        flights.compute(ticket.getFlightId(), (flightId, seats) -> {
+            flightChanges.merge(flightId, 1L, Long::sum);
+            if (seats != null) {
+                seats.occupy(code);
+                bookings.put(ticket.getId(), new Booking(flightId, code));
+            }
+            return seats;
+        });
+    }
+
+    private void release(Long ticketId) {
+        Booking booking;
+        synchronized (lock) {
+            booking = bookings.remove(ticketId);
+            if (booking == null) {
+                generation++;
+                return;
+            }
+        }
+        flights.compute(booking.flightId(), (flightId, seats) -> {
+            flightChanges.merge(flightId, 1L, Long::sum);
+            if (seats != null) {
+                seats.free(booking.seat());
+            }
+            return seats;
+        });
+    }
+
+    private FlightSeats seats(Long flightId) {
+        FlightSeats fresh = null;
+        for (int attempt = 0; attempt < MAX_LOAD_ATTEMPTS; attempt++) {
+            var seats = flights.get(flightId);
+            if (seats != null) {
+                return seats;
+            }
+            long changes = flightChanges.getOrDefault(flightId, 0L);
+            long loadGeneration;
+            synchronized (lock) {
+                loadGeneration = generation;
+            }
+
+            var loaded = loadBookings(flightId);
+            var candidate = new FlightSeats();
+            loaded.values().forEach(booking -> candidate.occupy(booking.seat()));
+            fresh = candidate;
+
+            var installed = flights.compute(flightId, (id, current) -> {
+                if (current != null) {
+                    return current;
+                }
+                synchronized (lock) {
+                    if (generation != loadGeneration || flightChanges.getOrDefault(id, 0L) != changes) {
+                        return null;
+                    }
+                    bookings.putAll(loaded);
+                }
+                return candidate;
+            });
+            if (installed != null) {
+                return installed;
+            }
+        }
+        return fresh;
+    }
+
+    private Map<Long, Booking> loadBookings(Long flightId) {
+        Map<Long, Booking> loaded = new HashMap<>();
+        loader.load(flightId).forEach((ticketId, seatNo) -> {
+            var code = SeatCode.encode(seatNo);
+            if (code != SeatCode.INVALID) {
+                loaded.put(ticketId, new Booking(flightId, code));
+            }
+        });
+        return loaded;
+    }
+
+    private static Map<Long, String> loadFromDatabase(Long flightId) {
+        try (var connection = ConnectionManager.pool().borrow();
+             var statement = connection.prepareStatement(LOAD_SQL)) {
+            statement.setLong(1, flightId);
+            Map<Long, String> seats = new HashMap<>();
+
+            var result = statement.executeQuery();
+            while (result.next()) {
+                seats.put(result.getLong("id"), result.getString("seat_no"));
+            }
+            return seats;
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    private record Booking(long flightId, int seat) {
+    }
+
+    private static class FlightSeats {
+        private final BitSet occupied = new BitSet();
+
+        private synchronized void occupy(int code) {
+            occupied.set(code);
+        }
+
+        private synchronized void free(int code) {
+            occupied.clear(code);
+        }
+
+        private synchronized boolean isOccupied(int code) {
+            return occupied.get(code);
+        }
+
+        private synchronized int occupied() {
+            return occupied.cardinality();
+        }
+
+        private synchronized List<String> firstFree(int count, int rows, int seatsPerRow) {
+            List<String> free = new ArrayList<>(count);
+            for (int row = 0; row < rows && free.size() < count; row++) {
+                var rowStart = row * SeatCode.LETTERS;
+                var seat = occupied.nextClearBit(rowStart);
+                while (seat < rowStart + seatsPerRow && free.size() < count) {
+                    free.add(SeatCode.decode(seat));
+                    seat = occupied.nextClearBit(seat + 1);
+                }
+            }
+            return free;
+        }
+    }
+
+    @FunctionalInterface
+    interface SeatLoader {
+        Map<Long, String> load(Long flightId);
+    }
+
+    private static class Holder {
+        private final static SeatIndex INSTANCE = new SeatIndex(SeatIndex::loadFromDatabase);
+
+        static {
+            TicketDao.getInstance().addListener(INSTANCE);
+        }
+    }
+
+    public static SeatIndex getInstance() {
+        return Holder.INSTANCE;
+    }
+}
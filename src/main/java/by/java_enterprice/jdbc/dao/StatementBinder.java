@@ -0,0 +1,9 @@
+package by.java_enterprice.jdbc.dao;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+@FunctionalInterface
+interface StatementBinder<E> {
+    void bind(PreparedStatement statement, E e) throws SQLException;
+}
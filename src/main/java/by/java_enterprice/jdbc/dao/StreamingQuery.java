@@ -0,0 +1,126 @@
+package by.java_enterprice.jdbc.dao;
+
+import by.java_enterprice.jdbc.exception.DaoException;
+import by.java_enterprice.jdbc.metrics.QueryMetrics;
+import by.java_enterprice.jdbc.utils.ConnectionManager;
+import by.java_enterprice.jdbc.utils.PropertiesUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+final class StreamingQuery<E> extends Spliterators.AbstractSpliterator<E> {
+    private static final String FETCH_SIZE_KEY = "db.fetch.size";
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+    private static final int FETCH_SIZE = fetchSize();
+
+    private final Connection connection;
+    private final boolean autoCommit;
+    private final PreparedStatement statement;
+    private final ResultSet result;
+    private final RowMapper<E> mapper;
+    private final QueryMetrics metrics;
+    private final long startNanos;
+    private long rows;
+    private boolean closed;
+
+    static <E> Stream<E> stream(String sql, MapperFactory<E> mapperFactory, QueryMetrics metrics) {
+        return stream(sql, null, (statement, parameters) -> {}, mapperFactory, metrics);
+    }
+
+    static <P, E> Stream<E> stream(String sql, P parameters, StatementBinder<P> binder,
+                                   MapperFactory<E> mapperFactory, QueryMetrics metrics) {
+        var start = System.nanoTime();
+        var connection = ConnectionManager.getReadOnly();
+        try {
+            var autoCommit = connection.getAutoCommit();
+            if (autoCommit) {
+                connection.setAutoCommit(false);
+            }
+            var statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(FETCH_SIZE);
+            binder.bind(statement, parameters);
+
+            var result = statement.executeQuery();
+            var query = new StreamingQuery<>(connection, autoCommit, statement, result,
+                    mapperFactory.create(result), metrics, start);
+            return StreamSupport.stream(query, false).onClose(query::close);
+        } catch (SQLException | RuntimeException e) {
+            metrics.recordError(start);
+            closeQuietly(connection);
+            throw e instanceof SQLException ? new DaoException(e) : (RuntimeException) e;
+        }
+    }
+
+    private StreamingQuery(Connection connection, boolean autoCommit, PreparedStatement statement,
+                           ResultSet result, RowMapper<E> mapper, QueryMetrics metrics, long startNanos) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        this.connection = connection;
+        this.autoCommit = autoCommit;
+        this.statement = statement;
+        this.result = result;
+        this.mapper = mapper;
+        this.metrics = metrics;
+        this.startNanos = startNanos;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+        if (closed) {
+            return false;
+        }
+        try {
+            if (!result.next()) {
+                return false;
+            }
+            rows++;
+            action.accept(mapper.map(result));
+            return true;
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    private void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            statement.close();
+            if (autoCommit) {
+                connection.commit();
+                connection.setAutoCommit(true);
+            }
+            metrics.record(startNanos, rows);
+        } catch (SQLException e) {
+            metrics.recordError(startNanos);
+            throw new DaoException(e);
+        } finally {
+            closeQuietly(connection);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    @FunctionalInterface
+    interface MapperFactory<E> {
+        RowMapper<E> create(ResultSet result) throws SQLException;
+    }
+
+    private static int fetchSize() {
+        String value = PropertiesUtil.get(FETCH_SIZE_KEY);
+        return value == null ? DEFAULT_FETCH_SIZE : Integer.parseInt(value);
+    }
+}
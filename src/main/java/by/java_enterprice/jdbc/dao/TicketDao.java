@@ -1,22 +1,66 @@
 package by.java_enterprice.jdbc.dao;
 
+import by.java_enterprice.jdbc.dao.TicketQuery.Paging;
+import by.java_enterprice.jdbc.dto.Page;
+import by.java_enterprice.jdbc.dto.ScanResult;
 import by.java_enterprice.jdbc.dto.TicketFilter;
+import by.java_enterprice.jdbc.dto.TicketSummary;
+import by.java_enterprice.jdbc.entity.Flight;
 import by.java_enterprice.jdbc.entity.Ticket;
+import by.java_enterprice.jdbc.entity.TicketField;
 import by.java_enterprice.jdbc.exception.DaoException;
+import by.java_enterprice.jdbc.exception.OptimisticLockException;
+import by.java_enterprice.jdbc.metrics.Metrics;
+import by.java_enterprice.jdbc.metrics.QueryMetrics;
 import by.java_enterprice.jdbc.utils.ConnectionManager;
+import by.java_enterprice.jdbc.utils.TransactionManager;
 
+import java.nio.ByteBuffer;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class TicketDao implements Dao<Long, Ticket> {
     private final static TicketDao INSTANCE = new TicketDao();
-    private final FlightDao flightDao = FlightDao.getInstance();
+    private final static MapperCache<TicketRowMapper> TICKET_MAPPERS = new MapperCache<>(TicketRowMapper::resolve);
+    private final static MapperCache<TicketRowMapper> LAZY_TICKET_MAPPERS = new MapperCache<>(TicketRowMapper::resolveLazy);
+
+    private final static QueryMetrics FIND_ALL_METRICS = Metrics.query("TicketDao.findAll");
+    private final static QueryMetrics FIND_ALL_FILTER_METRICS = Metrics.query("TicketDao.findAllByFilter");
+    private final static QueryMetrics FIND_ALL_LAZY_METRICS = Metrics.query("TicketDao.findAllLazy");
+    private final static QueryMetrics STREAM_ALL_LAZY_METRICS = Metrics.query("TicketDao.streamAllLazy");
+    private final static QueryMetrics FIND_PAGE_METRICS = Metrics.query("TicketDao.findPage");
+    private final static QueryMetrics FIND_SUMMARIES_METRICS = Metrics.query("TicketDao.findAllSummaries");
+    private final static QueryMetrics FIND_IDS_METRICS = Metrics.query("TicketDao.findIds");
+    private final static QueryMetrics STREAM_ALL_METRICS = Metrics.query("TicketDao.streamAll");
+    private final static QueryMetrics PARALLEL_SCAN_METRICS = Metrics.query("TicketDao.parallelScan");
+    private final static QueryMetrics FIND_BY_ID_METRICS = Metrics.query("TicketDao.findById");
+    private final static QueryMetrics FIND_ALL_BY_ID_METRICS = Metrics.query("TicketDao.findAllById");
+    private final static QueryMetrics SAVE_METRICS = Metrics.query("TicketDao.save");
+    private final static QueryMetrics UPDATE_METRICS = Metrics.query("TicketDao.update");
+    private final static QueryMetrics UPSERT_METRICS = Metrics.query("TicketDao.upsert");
+    private final static QueryMetrics UPDATE_VERSIONED_METRICS = Metrics.query("TicketDao.updateVersioned");
+    private final static QueryMetrics UPDATE_DIRTY_METRICS = Metrics.query("TicketDao.updateDirty");
+    private final static QueryMetrics DELETE_METRICS = Metrics.query("TicketDao.delete");
+    private final static QueryMetrics SAVE_ALL_METRICS = Metrics.query("TicketDao.saveAll");
+    private final static QueryMetrics UPDATE_ALL_METRICS = Metrics.query("TicketDao.updateAll");
+    private final static QueryMetrics DELETE_ALL_METRICS = Metrics.query("TicketDao.deleteAll");
+    private final static QueryMetrics UPSERT_ALL_METRICS = Metrics.query("TicketDao.upsertAll");
+    private final static Map<Integer, String> PARTIAL_UPDATE_SQL = new ConcurrentHashMap<>();
+    private final static int VERSIONED_SHAPE = 1 << TicketField.values().length;
 
     private final static String SAVE_SQL = """
                                             INSERT INTO ticket
@@ -24,173 +68,675 @@ public class TicketDao implements Dao<Long, Ticket> {
                                             VALUES (?, ?, ?, ?, ?)
                                             """;
 
+    private final static String UPSERT_SQL = """
+                                            INSERT INTO ticket
+                                            (id, passport_no, passenger_name, flight_id, seat_no, cost)
+                                            VALUES (?, ?, ?, ?, ?, ?)
+                                            ON CONFLICT (id) DO UPDATE
+                                            SET passport_no = EXCLUDED.passport_no,
+                                                passenger_name = EXCLUDED.passenger_name,
+                                                flight_id = EXCLUDED.flight_id,
+                                                seat_no = EXCLUDED.seat_no,
+                                                cost = EXCLUDED.cost,
+                                                version = ticket.version + 1
+                                            """;
+
+    private final static String UPSERT_RETURNING_SQL = UPSERT_SQL + """
+                                            RETURNING id, version, (xmax = 0) AS inserted
+                                            """;
+
+    private final static String ADVANCE_ID_SQL = """
+                                            SELECT setval(seq, ?)
+                                            FROM (SELECT pg_get_serial_sequence('ticket', 'id')::regclass AS seq) s
+                                            WHERE COALESCE(pg_sequence_last_value(seq), 0) < ?
+                                            """;
+
     private final static String DELETE_SQL = """
                                             DELETE FROM ticket
                                             WHERE id = ?
                                             """;
 
-    private final static String FIND_ALL_SQL = """
-                                            SELECT t.id, t.passport_no, t.passenger_name, t.flight_id, t.seat_no, t.cost,
-                                                    f.flight_no, f.departure_date, f.departure_airport_code, f.arrival_date,
-                                                    f.arrival_airport_code, f.aircraft_id, f.status
-                                            FROM ticket t
-                                            JOIN flight f on f.id = t.flight_id
-                                            """;
+    private final static String FIND_ALL_SQL = TicketProjection.FULL.selectSql();
+
+    private final static String FIND_BY_ID_SQL = FIND_ALL_SQL + """
+                                                WHERE t.id = ?
+                                                """;
 
-    private final static String FIND_BY_ID_SQL = """
-                                                SELECT id, passport_no, passenger_name, flight_id, seat_no, cost
+    private final static String FIND_ALL_BY_ID_SQL = FIND_ALL_SQL + """
+                                                WHERE t.id = ANY(?)
+                                                """;
+
+    private final static String ID_RANGE_SQL = """
+                                                SELECT min(id), max(id)
                                                 FROM ticket
-                                                WHERE id = ?
                                                 """;
 
+    private final static String PARTITION_SQL = FIND_ALL_SQL + """
+                                                WHERE t.id >= ? AND t.id < ?
+                                                """;
+
+    private final static ParallelScan<Ticket> PARALLEL_SCAN = new ParallelScan<>(ID_RANGE_SQL, PARTITION_SQL,
+            result -> INSTANCE.ticketMapper(PARTITION_SQL, result), PARALLEL_SCAN_METRICS);
+
     private final static String UPDATE_SQL = """
                                                 UPDATE ticket
                                                 SET passport_no = ?,
                                                     passenger_name = ?,
                                                     flight_id = ?,
                                                     seat_no = ?,
-                                                    cost = ?
+                                                    cost = ?,
+                                                    version = version + 1
                                                 WHERE id = ?
                                                 """;
 
+    private final static String UPDATE_VERSIONED_SQL = UPDATE_SQL + """
+                                                AND version = ?
+                                                """;
+
+    private final static String UPDATE_RETURNING_SQL = UPDATE_SQL + """
+                                                RETURNING version
+                                                """;
+
+    private final static String[] VERSION_KEYS = {"id", "version"};
+    private final static String[] ID_KEYS = {"id"};
+
+    private final List<TicketListener> listeners = new CopyOnWriteArrayList<>();
+
+    public void addListener(TicketListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(TicketListener listener) {
+        listeners.remove(listener);
+    }
+
     public List<Ticket> findAll(TicketFilter filter) {
-        List<Object> parameters = new ArrayList<>();
-        List<String> whereSql = new ArrayList<>();
+        var start = System.nanoTime();
+        String sql = TicketQuery.sql(filter, TicketProjection.FULL, Paging.OFFSET, null);
 
-        if (filter.passengerName() != null) {
-            parameters.add(filter.passengerName());
-            whereSql.add("passenger_name = ?");
-        }
+        try(var connection = ConnectionManager.getReadOnly();
+            var statement = connection.prepareStatement(sql)) {
+            List<Ticket> tickets = new ArrayList<>();
+
+            TicketQuery.bind(statement, filter, Paging.OFFSET, null);
+
+            var result = statement.executeQuery();
+            var mapper = ticketMapper(sql, result);
+
+            while (result.next()) {
+                tickets.add(
+                        mapper.map(result)
+                );
+            }
 
-        if (filter.seatNo() != null) {
-            parameters.add(filter.seatNo());
-            whereSql.add("seat_no = ?");
+            FIND_ALL_FILTER_METRICS.record(start, tickets.size());
+            return tickets;
+        } catch (SQLException e) {
+            FIND_ALL_FILTER_METRICS.recordError(start);
+            throw new DaoException(e);
         }
-        parameters.add(filter.limit());
-        parameters.add(filter.offset());
-        var where = whereSql.stream().collect(Collectors.joining(
-                " AND ",
-                parameters.size() > 2 ? " WHERE " : " ",
-                " LIMIT ? OFFSET ? "
-        ));
-        String sql = FIND_ALL_SQL + where;
+    }
 
-        try(var connection = ConnectionManager.get();
+    public List<Ticket> findAllLazy(TicketFilter filter) {
+        var start = System.nanoTime();
+        String sql = TicketQuery.sql(filter, TicketProjection.LAZY, Paging.OFFSET, null);
+
+        try(var connection = ConnectionManager.getReadOnly();
             var statement = connection.prepareStatement(sql)) {
             List<Ticket> tickets = new ArrayList<>();
 
-            for (int i = 0; i < parameters.size(); i++) {
-                statement.setObject(i + 1, parameters.get(i));
-            }
+            TicketQuery.bind(statement, filter, Paging.OFFSET, null);
 
             var result = statement.executeQuery();
+            var mapper = lazyTicketMapper(sql, result);
 
             while (result.next()) {
                 tickets.add(
-                        buildTicket(result, connection)
+                        mapper.map(result)
                 );
             }
 
+            FIND_ALL_LAZY_METRICS.record(start, tickets.size());
             return tickets;
         } catch (SQLException e) {
+            FIND_ALL_LAZY_METRICS.recordError(start);
             throw new DaoException(e);
         }
     }
 
+    public Stream<Ticket> streamAllLazy(TicketFilter filter) {
+        var paging = filter.limit() > 0 ? Paging.OFFSET : Paging.NONE;
+        String sql = TicketQuery.sql(filter, TicketProjection.LAZY, paging, null);
+
+        return StreamingQuery.stream(sql, filter, (statement, f) -> TicketQuery.bind(statement, f, paging, null),
+                result -> lazyTicketMapper(sql, result), STREAM_ALL_LAZY_METRICS);
+    }
+
+    public Page<Ticket> findPage(TicketFilter filter) {
+        if (filter.limit() <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive: " + filter.limit());
+        }
+        var start = System.nanoTime();
+        var afterId = decodePageToken(filter.pageToken());
+        String sql = TicketQuery.sql(filter, TicketProjection.FULL, Paging.KEYSET, afterId);
+
+        try(var connection = ConnectionManager.getReadOnly();
+            var statement = connection.prepareStatement(sql)) {
+            List<Ticket> tickets = new ArrayList<>();
+            TicketQuery.bind(statement, filter, Paging.KEYSET, afterId);
+
+            var result = statement.executeQuery();
+            var mapper = ticketMapper(sql, result);
+
+            var hasNext = false;
+            while (result.next()) {
+                if (tickets.size() == filter.limit()) {
+                    hasNext = true;
+                    break;
+                }
+                tickets.add(
+                        mapper.map(result)
+                );
+            }
+            var nextPageToken = hasNext ? encodePageToken(tickets.get(tickets.size() - 1).getId()) : null;
+
+            FIND_PAGE_METRICS.record(start, tickets.size());
+            return new Page<>(tickets, nextPageToken);
+        } catch (SQLException e) {
+            FIND_PAGE_METRICS.recordError(start);
+            throw new DaoException(e);
+        }
+    }
+
+    public Stream<Ticket> streamAll(TicketFilter filter) {
+        var paging = filter.limit() > 0 ? Paging.OFFSET : Paging.NONE;
+        String sql = TicketQuery.sql(filter, TicketProjection.FULL, paging, null);
+
+        return StreamingQuery.stream(sql, filter, (statement, f) -> TicketQuery.bind(statement, f, paging, null),
+                result -> ticketMapper(sql, result), STREAM_ALL_METRICS);
+    }
+
+    public List<TicketSummary> findAllSummaries(TicketFilter filter) {
+        var start = System.nanoTime();
+        var paging = filter.limit() > 0 ? Paging.OFFSET : Paging.NONE;
+        String sql = TicketQuery.sql(filter, TicketProjection.SUMMARY, paging, null);
+
+        try(var connection = ConnectionManager.getReadOnly();
+            var statement = connection.prepareStatement(sql)) {
+            List<TicketSummary> summaries = new ArrayList<>();
+            TicketQuery.bind(statement, filter, paging, null);
+
+            var result = statement.executeQuery();
+            while (result.next()) {
+                summaries.add(new TicketSummary(
+                        result.getLong(1),
+                        result.getString(2),
+                        result.getString(3),
+                        result.getString(4)
+                ));
+            }
+
+            FIND_SUMMARIES_METRICS.record(start, summaries.size());
+            return summaries;
+        } catch (SQLException e) {
+            FIND_SUMMARIES_METRICS.recordError(start);
+            throw new DaoException(e);
+        }
+    }
+
+    public List<Long> findIds(TicketFilter filter) {
+        var start = System.nanoTime();
+        var paging = filter.limit() > 0 ? Paging.OFFSET : Paging.NONE;
+        String sql = TicketQuery.sql(filter, TicketProjection.IDS, paging, null);
+
+        try(var connection = ConnectionManager.getReadOnly();
+            var statement = connection.prepareStatement(sql)) {
+            List<Long> ids = new ArrayList<>();
+            TicketQuery.bind(statement, filter, paging, null);
+
+            var result = statement.executeQuery();
+            while (result.next()) {
+                ids.add(result.getLong(1));
+            }
+
+            FIND_IDS_METRICS.record(start, ids.size());
+            return ids;
+        } catch (SQLException e) {
+            FIND_IDS_METRICS.recordError(start);
+            throw new DaoException(e);
+        }
+    }
+
+    public Stream<Ticket> streamAll() {
+        return StreamingQuery.stream(FIND_ALL_SQL, result -> ticketMapper(FIND_ALL_SQL, result), STREAM_ALL_METRICS);
+    }
+
+    public ScanResult scanAll(int parallelism, Consumer<Ticket> consumer) {
+        return PARALLEL_SCAN.forEach(parallelism, consumer);
+    }
+
+    public Stream<Ticket> parallelStreamAll(int parallelism) {
+        return PARALLEL_SCAN.stream(parallelism);
+    }
+
     public List<Ticket> findAll() {
-        try(var connection = ConnectionManager.get();
+        var start = System.nanoTime();
+        try(var connection = ConnectionManager.getReadOnly();
             var statement = connection.prepareStatement(FIND_ALL_SQL)) {
             List<Ticket> tickets = new ArrayList<>();
 
             var result = statement.executeQuery();
+            var mapper = ticketMapper(FIND_ALL_SQL, result);
 
             while (result.next()) {
                 tickets.add(
-                        buildTicket(result, connection)
+                        mapper.map(result)
                 );
             }
 
+            FIND_ALL_METRICS.record(start, tickets.size());
             return tickets;
         } catch (SQLException e) {
+            FIND_ALL_METRICS.recordError(start);
             throw new DaoException(e);
         }
     }
 
     public Optional<Ticket> findById(Long id) {
-        try(var connection = ConnectionManager.get();
+        var start = System.nanoTime();
+        try(var connection = ConnectionManager.getReadOnly();
             var statement = connection.prepareStatement(FIND_BY_ID_SQL)) {
             statement.setLong(1, id);
             var result = statement.executeQuery();
 
             Ticket ticket = null;
             if (result.next()) {
-                ticket = buildTicket(result, connection);
+                ticket = ticketMapper(FIND_BY_ID_SQL, result).map(result);
             }
+            FIND_BY_ID_METRICS.record(start, ticket == null ? 0 : 1);
             return Optional.ofNullable(ticket);
         } catch (SQLException e) {
+            FIND_BY_ID_METRICS.recordError(start);
+            throw new DaoException(e);
+        }
+    }
+
+    public Map<Long, Ticket> findAllById(Collection<Long> ids) {
+        var start = System.nanoTime();
+        try {
+            var tickets = IdLookup.find(FIND_ALL_BY_ID_SQL, ids,
+                    result -> ticketMapper(FIND_ALL_BY_ID_SQL, result), Ticket::getId);
+            FIND_ALL_BY_ID_METRICS.record(start, tickets.size());
+            return tickets;
+        } catch (SQLException e) {
+            FIND_ALL_BY_ID_METRICS.recordError(start);
             throw new DaoException(e);
         }
     }
 
     public Ticket save(Ticket ticket) {
+        var start = System.nanoTime();
         try(var connection = ConnectionManager.get();
             var statement = connection.prepareStatement(SAVE_SQL, Statement.RETURN_GENERATED_KEYS)) {
-            statement.setString(1, ticket.getPassportNo());
-            statement.setString(2, ticket.getPassengerName());
-            statement.setLong(3, ticket.getFlight().getId());
-            statement.setString(4, ticket.getSeatNo());
-            statement.setBigDecimal(5, ticket.getCost());
+            bindSave(statement, ticket);
 
-            statement.executeUpdate();
+            var rows = statement.executeUpdate();
             var keys = statement.getGeneratedKeys();
             if (keys.next()) {
                 ticket.setId(keys.getLong("id"));
+                ticket.setVersion(keys.getLong("version"));
             }
+            ticket.clearDirtyFields();
+            fireSaved(ticket);
 
+            SAVE_METRICS.record(start, rows);
             return ticket;
         } catch (SQLException e) {
+            SAVE_METRICS.recordError(start);
             throw new DaoException(e);
         }
     }
 
     public boolean update(Ticket ticket) {
-        var connection = ConnectionManager.get();
-        try(var statement = connection.prepareStatement(UPDATE_SQL)) {
-            statement.setString(1, ticket.getPassportNo());
-            statement.setString(2, ticket.getPassengerName());
-            statement.setLong(3, ticket.getFlight().getId());
-            statement.setString(4, ticket.getSeatNo());
-            statement.setBigDecimal(5, ticket.getCost());
-            statement.setLong(6, ticket.getId());
-            return statement.executeUpdate() > 0;
+        var start = System.nanoTime();
+        try(var connection = ConnectionManager.get();
+            var statement = connection.prepareStatement(UPDATE_RETURNING_SQL)) {
+            bindUpdate(statement, ticket);
+
+            var result = statement.executeQuery();
+            var updated = result.next();
+            if (updated) {
+                ticket.setVersion(result.getLong("version"));
+                ticket.clearDirtyFields();
+                fireUpdated(ticket);
+            }
+            UPDATE_METRICS.record(start, updated ? 1 : 0);
+            return updated;
+        } catch (SQLException e) {
+            UPDATE_METRICS.recordError(start);
+            throw new DaoException(e);
+        }
+    }
+
+    public Ticket upsert(Ticket ticket) {
+        if (ticket.getId() == null) {
+            return save(ticket);
+        }
+        var start = System.nanoTime();
+        try(var connection = ConnectionManager.get();
+            var statement = connection.prepareStatement(UPSERT_RETURNING_SQL)) {
+            bindUpsert(statement, ticket);
+
+            var result = statement.executeQuery();
+            var inserted = false;
+            if (result.next()) {
+                ticket.setVersion(result.getLong("version"));
+                inserted = result.getBoolean("inserted");
+            }
+            ticket.clearDirtyFields();
+            if (inserted) {
+                advanceIdSequence(connection, ticket.getId());
+                fireSaved(ticket);
+            } else {
+                fireUpdated(ticket);
+            }
+
+            UPSERT_METRICS.record(start, 1);
+            return ticket;
+        } catch (SQLException e) {
+            UPSERT_METRICS.recordError(start);
+            throw new DaoException(e);
+        }
+    }
+
+    public void updateVersioned(Ticket ticket) {
+        if (ticket.getVersion() == null) {
+            throw new IllegalArgumentException("Ticket " + ticket.getId() + " has no version to check");
+        }
+        var start = System.nanoTime();
+        try(var connection = ConnectionManager.get();
+            var statement = connection.prepareStatement(UPDATE_VERSIONED_SQL)) {
+            bindUpdate(statement, ticket);
+            statement.setLong(7, ticket.getVersion());
+
+            var rows = statement.executeUpdate();
+            UPDATE_VERSIONED_METRICS.record(start, rows);
+            if (rows == 0) {
+                throw new OptimisticLockException("Ticket", ticket.getId(), ticket.getVersion());
+            }
+            ticket.setVersion(ticket.getVersion() + 1);
+            ticket.clearDirtyFields();
+            fireUpdated(ticket);
+        } catch (SQLException e) {
+            UPDATE_VERSIONED_METRICS.recordError(start);
+            throw new DaoException(e);
+        }
+    }
+
+    public boolean updateDirty(Ticket ticket) {
+        if (!ticket.isDirty()) {
+            return false;
+        }
+        var start = System.nanoTime();
+        var dirtyFields = ticket.getDirtyFields();
+        var versioned = ticket.getVersion() != null;
+        String sql = partialUpdateSql(dirtyFields, versioned);
+
+        try(var connection = ConnectionManager.get();
+            var statement = connection.prepareStatement(sql)) {
+            int index = 1;
+            for (TicketField field : dirtyFields) {
+                bindField(statement, index++, field, ticket);
+            }
+            statement.setLong(index++, ticket.getId());
+            if (versioned) {
+                statement.setLong(index, ticket.getVersion());
+            }
+
+            var rows = statement.executeUpdate();
+            UPDATE_DIRTY_METRICS.record(start, rows);
+            if (rows == 0 && versioned) {
+                throw new OptimisticLockException("Ticket", ticket.getId(), ticket.getVersion());
+            }
+            if (versioned) {
+                ticket.setVersion(ticket.getVersion() + 1);
+            }
+            ticket.clearDirtyFields();
+            if (rows > 0) {
+                fireUpdated(ticket);
+            }
+            return rows > 0;
         } catch (SQLException e) {
+            UPDATE_DIRTY_METRICS.recordError(start);
             throw new DaoException(e);
         }
     }
 
     public boolean delete(Long id) {
+        var start = System.nanoTime();
         try (var connection = ConnectionManager.get();
             var statement = connection.prepareStatement(DELETE_SQL)){
             statement.setLong(1, id);
 
-            return statement.executeUpdate() > 0;
+            var rows = statement.executeUpdate();
+            if (rows > 0) {
+                fireDeleted(id);
+            }
+            DELETE_METRICS.record(start, rows);
+            return rows > 0;
         } catch (SQLException e) {
+            DELETE_METRICS.recordError(start);
             throw new DaoException(e);
         }
     }
 
-    private Ticket buildTicket(ResultSet result, Connection connection) throws SQLException {
-        return new Ticket(
-                result.getLong("id"),
-                result.getString("passport_no"),
-                result.getString("passenger_name"),
-                result.getString("seat_no"),
-                flightDao.findById(
-                        result.getLong("flight_id"),
-                        result.getStatement().getConnection()
-                ).orElse(null),
-                result.getBigDecimal("cost")
-        );
+    public List<Ticket> saveAll(Collection<Ticket> tickets) {
+        var start = System.nanoTime();
+        try {
+            var saved = BatchExecutor.insert(SAVE_SQL, tickets, this::bindSave, this::readSavedKeys);
+            saved.forEach(this::fireSaved);
+            SAVE_ALL_METRICS.record(start, saved.size());
+            return saved;
+        } catch (SQLException e) {
+            SAVE_ALL_METRICS.recordError(start);
+            throw new DaoException(e);
+        }
+    }
+
+    public int updateAll(Collection<Ticket> tickets) {
+        var start = System.nanoTime();
+        try {
+            List<Ticket> updated = new ArrayList<>();
+            var rows = BatchExecutor.executeReturning(UPDATE_SQL, VERSION_KEYS, tickets, this::bindUpdate,
+                    Ticket::getId, (ticket, keys) -> {
+                        readVersion(ticket, keys);
+                        updated.add(ticket);
+                    });
+            updated.forEach(this::fireUpdated);
+            UPDATE_ALL_METRICS.record(start, rows);
+            return rows;
+        } catch (SQLException e) {
+            UPDATE_ALL_METRICS.recordError(start);
+            throw new DaoException(e);
+        }
+    }
+
+    public Optional<Ticket> modify(Long id, Consumer<Ticket> change, int maxAttempts) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return TransactionManager.inTransaction(connection -> {
+                    var ticket = findById(id);
+                    ticket.ifPresent(t -> {
+                        change.accept(t);
+                        updateDirty(t);
+                    });
+                    return ticket;
+                });
+            } catch (OptimisticLockException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    public int upsertAll(Collection<Ticket> tickets) {
+        var start = System.nanoTime();
+        try {
+            List<Ticket> inserted = new ArrayList<>();
+            List<Ticket> updated = new ArrayList<>();
+            var rows = BatchExecutor.executeReturning(UPSERT_RETURNING_SQL, VERSION_KEYS, tickets, this::bindUpsert,
+                    Ticket::getId, (ticket, keys) -> {
+                        readVersion(ticket, keys);
+                        (keys.getBoolean("inserted") ? inserted : updated).add(ticket);
+                    });
+            if (!inserted.isEmpty()) {
+                try (var connection = ConnectionManager.get()) {
+                    advanceIdSequence(connection, inserted.stream().mapToLong(Ticket::getId).max().getAsLong());
+                }
+            }
+            inserted.forEach(this::fireSaved);
+            updated.forEach(this::fireUpdated);
+            UPSERT_ALL_METRICS.record(start, rows);
+            return rows;
+        } catch (SQLException e) {
+            UPSERT_ALL_METRICS.recordError(start);
+            throw new DaoException(e);
+        }
+    }
+
+    public int deleteAll(Collection<Long> ids) {
+        var start = System.nanoTime();
+        try {
+            List<Long> deleted = new ArrayList<>();
+            var rows = BatchExecutor.executeReturning(DELETE_SQL, ID_KEYS, ids,
+                    (statement, id) -> statement.setLong(1, id), id -> id, (id, keys) -> deleted.add(id));
+            deleted.forEach(this::fireDeleted);
+            DELETE_ALL_METRICS.record(start, rows);
+            return rows;
+        } catch (SQLException e) {
+            DELETE_ALL_METRICS.recordError(start);
+            throw new DaoException(e);
+        }
+    }
+
+    private String encodePageToken(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(id).array());
+    }
+
+    private Long decodePageToken(String pageToken) {
+        if (pageToken == null) {
+            return null;
+        }
+        var bytes = Base64.getUrlDecoder().decode(pageToken);
+        if (bytes.length != Long.BYTES) {
+            throw new IllegalArgumentException("Invalid page token: " + pageToken);
+        }
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+
+    private void bindSave(PreparedStatement statement, Ticket ticket) throws SQLException {
+        statement.setString(1, ticket.getPassportNo());
+        statement.setString(2, ticket.getPassengerName());
+        statement.setLong(3, ticket.getFlightId());
+        statement.setString(4, ticket.getSeatNo());
+        statement.setBigDecimal(5, ticket.getCost());
+    }
+
+    private void bindUpdate(PreparedStatement statement, Ticket ticket) throws SQLException {
+        bindSave(statement, ticket);
+        statement.setLong(6, ticket.getId());
+    }
+
+    private void bindUpsert(PreparedStatement statement, Ticket ticket) throws SQLException {
+        statement.setLong(1, ticket.getId());
+        statement.setString(2, ticket.getPassportNo());
+        statement.setString(3, ticket.getPassengerName());
+        statement.setLong(4, ticket.getFlightId());
+        statement.setString(5, ticket.getSeatNo());
+        statement.setBigDecimal(6, ticket.getCost());
+    }
+
+    private void advanceIdSequence(Connection connection, long id) throws SQLException {
+        try (var statement = connection.prepareStatement(ADVANCE_ID_SQL)) {
+            statement.setLong(1, id);
+            statement.setLong(2, id);
+            statement.executeQuery();
+        }
+    }
+
+    private void readSavedKeys(Ticket ticket, ResultSet keys) throws SQLException {
+        ticket.setId(keys.getLong("id"));
+        readVersion(ticket, keys);
+    }
+
+    private void readVersion(Ticket ticket, ResultSet keys) throws SQLException {
+        ticket.setVersion(keys.getLong("version"));
+        ticket.clearDirtyFields();
+    }
+
+    private void bindField(PreparedStatement statement, int index, TicketField field, Ticket ticket)
+            throws SQLException {
+        switch (field) {
+            case PASSPORT_NO -> statement.setString(index, ticket.getPassportNo());
+            case PASSENGER_NAME -> statement.setString(index, ticket.getPassengerName());
+            case FLIGHT_ID -> statement.setLong(index, ticket.getFlightId());
+            case SEAT_NO -> statement.setString(index, ticket.getSeatNo());
+            case COST -> statement.setBigDecimal(index, ticket.getCost());
+        }
+    }
+
+    private String partialUpdateSql(Set<TicketField> fields, boolean versioned) {
+        int shape = versioned ? VERSIONED_SHAPE : 0;
+        for (TicketField field : fields) {
+            shape |= 1 << field.ordinal();
+        }
+        return PARTIAL_UPDATE_SQL.computeIfAbsent(shape, key -> {
+            var sql = new StringBuilder("UPDATE ticket\nSET ");
+            for (TicketField field : fields) {
+                sql.append(column(field)).append(" = ?, ");
+            }
+            sql.append("version = version + 1\nWHERE id = ?\n");
+            if (versioned) {
+                sql.append("AND version = ?\n");
+            }
+            return sql.toString();
+        });
+    }
+
+    private String column(TicketField field) {
+        return switch (field) {
+            case PASSPORT_NO -> "passport_no";
+            case PASSENGER_NAME -> "passenger_name";
+            case FLIGHT_ID -> "flight_id";
+            case SEAT_NO -> "seat_no";
+            case COST -> "cost";
+        };
+    }
+
+    private void fireSaved(Ticket ticket) {
+        TransactionManager.afterCommit(() -> listeners.forEach(listener -> listener.onSaved(ticket)));
+    }
+
+    private void fireUpdated(Ticket ticket) {
+        TransactionManager.afterCommit(() -> listeners.forEach(listener -> listener.onUpdated(ticket)));
+    }
+
+    private void fireDeleted(Long id) {
+        TransactionManager.afterCommit(() -> listeners.forEach(listener -> listener.onDeleted(id)));
+    }
+
+    RowMapper<Ticket> ticketMapper(String sql, ResultSet result) throws SQLException {
+        return TICKET_MAPPERS.get(sql, result).withIdentityMap();
+    }
+
+    private RowMapper<Ticket> lazyTicketMapper(String sql, ResultSet result) throws SQLException {
+        return LAZY_TICKET_MAPPERS.get(sql, result).withFlightLoader(this::loadFlight);
+    }
+
+    private Flight loadFlight(Long flightId) {
+        return FlightDao.getInstance().findById(flightId).orElse(null);
     }
 
     private TicketDao() {}
@@ -0,0 +1,9 @@
+package by.java_enterprice.jdbc.dao;
+
+import by.java_enterprice.jdbc.entity.Ticket;
+
+public interface TicketListener {
+    void onSaved(Ticket ticket);
+    void onUpdated(Ticket ticket);
+    void onDeleted(Long id);
+}
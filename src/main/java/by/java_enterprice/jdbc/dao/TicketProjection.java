@@ -0,0 +1,36 @@
+package by.java_enterprice.jdbc.dao;
+
+enum TicketProjection {
+    FULL("""
+            SELECT t.id, t.passport_no, t.passenger_name, t.flight_id, t.seat_no, t.cost, t.version,
+                    f.flight_no, f.departure_date, f.departure_airport_code, f.arrival_date,
+                    f.arrival_airport_code, f.aircraft_id, f.status
+            FROM ticket t
+            JOIN flight f on f.id = t.flight_id
+            """),
+    LAZY("""
+            SELECT t.id, t.passport_no, t.passenger_name, t.flight_id, t.seat_no, t.cost, t.version
+            FROM ticket t
+            JOIN flight f on f.id = t.flight_id
+            """),
+    SUMMARY("""
+            SELECT t.id, t.seat_no, t.passenger_name, f.flight_no
+            FROM ticket t
+            JOIN flight f on f.id = t.flight_id
+            """),
+    IDS("""
+            SELECT t.id
+            FROM ticket t
+            JOIN flight f on f.id = t.flight_id
+            """);
+
+    private final String selectSql;
+
+    TicketProjection(String selectSql) {
+        this.selectSql = selectSql;
+    }
+
+    String selectSql() {
+        return selectSql;
+    }
+}
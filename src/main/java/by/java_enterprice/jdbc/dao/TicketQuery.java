@@ -0,0 +1,166 @@
+package by.java_enterprice.jdbc.dao;
+
+import by.java_enterprice.jdbc.dto.TicketFilter;
+import by.java_enterprice.jdbc.dto.TicketSort;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class TicketQuery {
+    private static final String[] CONDITIONS = {
+            "t.passenger_name = ?",
+            "t.seat_no = ?",
+            "t.cost >= ?",
+            "t.cost <= ?",
+            "t.flight_id = ?",
+            "f.departure_date >= ?",
+            "f.departure_date < ?",
+            "f.departure_airport_code = ?",
+            "f.arrival_airport_code = ?",
+            "t.seat_no = ANY(?)",
+            "t.flight_id = ANY(?)",
+            "t.id > ?",
+            "t.id < ?"
+    };
+    private static final int AFTER_ID = CONDITIONS.length - 2;
+    private static final int BEFORE_ID = CONDITIONS.length - 1;
+    private static final String[] SORT_COLUMNS = {
+            "t.id",
+            "t.cost",
+            "t.passenger_name",
+            "t.seat_no",
+            "f.departure_date"
+    };
+    private static final Map<Long, String> SQL_CACHE = new ConcurrentHashMap<>();
+
+    enum Paging {
+        NONE,
+        OFFSET,
+        KEYSET
+    }
+
+    static String sql(TicketFilter filter, TicketProjection projection, Paging paging, Long afterId) {
+        var shape = shape(filter, projection, paging, afterId);
+        var sql = SQL_CACHE.get(shape);
+        if (sql == null) {
+            sql = build(shape, projection, paging);
+            SQL_CACHE.putIfAbsent(shape, sql);
+        }
+        return sql;
+    }
+
+    static void bind(PreparedStatement statement, TicketFilter filter, Paging paging, Long afterId) throws SQLException {
+        int index = 1;
+        if (filter.passengerName() != null) {
+            statement.setString(index++, filter.passengerName());
+        }
+        if (filter.seatNo() != null) {
+            statement.setString(index++, filter.seatNo());
+        }
+        if (filter.minCost() != null) {
+            statement.setBigDecimal(index++, filter.minCost());
+        }
+        if (filter.maxCost() != null) {
+            statement.setBigDecimal(index++, filter.maxCost());
+        }
+        if (filter.flightId() != null) {
+            statement.setLong(index++, filter.flightId());
+        }
+        if (filter.departureFrom() != null) {
+            statement.setObject(index++, filter.departureFrom());
+        }
+        if (filter.departureTo() != null) {
+            statement.setObject(index++, filter.departureTo());
+        }
+        if (filter.departureAirportCode() != null) {
+            statement.setString(index++, filter.departureAirportCode());
+        }
+        if (filter.arrivalAirportCode() != null) {
+            statement.setString(index++, filter.arrivalAirportCode());
+        }
+        if (filter.seatNos() != null) {
+            statement.setArray(index++, statement.getConnection()
+                    .createArrayOf("varchar", filter.seatNos().toArray()));
+        }
+        if (filter.flightIds() != null) {
+            statement.setArray(index++, statement.getConnection()
+                    .createArrayOf("bigint", filter.flightIds().toArray()));
+        }
+        if (paging == Paging.KEYSET && afterId != null) {
+            statement.setLong(index++, afterId);
+        }
+
+        if (paging == Paging.OFFSET) {
+            statement.setInt(index++, filter.limit());
+            statement.setInt(index, filter.offset());
+        } else if (paging == Paging.KEYSET) {
+            statement.setInt(index, filter.limit() + 1);
+        }
+    }
+
+    private static long shape(TicketFilter filter, TicketProjection projection, Paging paging, Long afterId) {
+        long shape = 0;
+        shape |= bit(0, filter.passengerName() != null);
+        shape |= bit(1, filter.seatNo() != null);
+        shape |= bit(2, filter.minCost() != null);
+        shape |= bit(3, filter.maxCost() != null);
+        shape |= bit(4, filter.flightId() != null);
+        shape |= bit(5, filter.departureFrom() != null);
+        shape |= bit(6, filter.departureTo() != null);
+        shape |= bit(7, filter.departureAirportCode() != null);
+        shape |= bit(8, filter.arrivalAirportCode() != null);
+        shape |= bit(9, filter.seatNos() != null);
+        shape |= bit(10, filter.flightIds() != null);
+        var keysetAfter = paging == Paging.KEYSET && afterId != null;
+        shape |= bit(AFTER_ID, keysetAfter && !filter.descending());
+        shape |= bit(BEFORE_ID, keysetAfter && filter.descending());
+
+        var sort = paging == Paging.KEYSET ? TicketSort.ID : filter.sort();
+        if (paging == Paging.KEYSET && filter.sort() != null && filter.sort() != TicketSort.ID) {
+            throw new IllegalArgumentException("Keyset pagination is ordered by id, not " + filter.sort());
+        }
+        shape |= (long) (sort == null ? 0 : sort.ordinal() + 1) << 16;
+        shape |= bit(24, filter.descending());
+        shape |= (long) paging.ordinal() << 25;
+        shape |= (long) projection.ordinal() << 28;
+        return shape;
+    }
+
+    private static String build(long shape, TicketProjection projection, Paging paging) {
+        var sql = new StringBuilder(projection.selectSql());
+
+        var first = true;
+        for (int i = 0; i < CONDITIONS.length; i++) {
+            if ((shape & (1L << i)) != 0) {
+                sql.append(first ? " WHERE " : " AND ").append(CONDITIONS[i]);
+                first = false;
+            }
+        }
+
+        int sort = (int) (shape >>> 16) & 0xFF;
+        if (sort > 0) {
+            sql.append(" ORDER BY ").append(SORT_COLUMNS[sort - 1]);
+            if ((shape & (1L << 24)) != 0) {
+                sql.append(" DESC");
+            }
+            if (sort - 1 != TicketSort.ID.ordinal()) {
+                sql.append(", t.id");
+            }
+        }
+
+        if (paging == Paging.OFFSET) {
+            sql.append(" LIMIT ? OFFSET ? ");
+        } else if (paging == Paging.KEYSET) {
+            sql.append(" LIMIT ? ");
+        }
+        return sql.toString();
+    }
+
+    private static long bit(int index, boolean set) {
+        return set ? 1L << index : 0;
+    }
+
+    private TicketQuery() {}
+}
@@ -0,0 +1,101 @@
+package by.java_enterprice.jdbc.dao;
+
+import by.java_enterprice.jdbc.entity.Flight;
+import by.java_enterprice.jdbc.entity.Ticket;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+final class TicketRowMapper {
+    private final int id;
+    private final int passportNo;
+    private final int passengerName;
+    private final int seatNo;
+    private final int cost;
+    private final int flightId;
+    private final int version;
+    private final FlightRowMapper flightMapper;
+
+    static TicketRowMapper resolve(ResultSetMetaData metaData) throws SQLException {
+        return new TicketRowMapper(
+                MapperCache.columnIndex(metaData, "id"),
+                MapperCache.columnIndex(metaData, "passport_no"),
+                MapperCache.columnIndex(metaData, "passenger_name"),
+                MapperCache.columnIndex(metaData, "seat_no"),
+                MapperCache.columnIndex(metaData, "cost"),
+                MapperCache.columnIndex(metaData, "flight_id"),
+                MapperCache.columnIndex(metaData, "version"),
+                FlightRowMapper.resolve(metaData, "flight_id")
+        );
+    }
+
+    static TicketRowMapper resolveLazy(ResultSetMetaData metaData) throws SQLException {
+        return new TicketRowMapper(
+                MapperCache.columnIndex(metaData, "id"),
+                MapperCache.columnIndex(metaData, "passport_no"),
+                MapperCache.columnIndex(metaData, "passenger_name"),
+                MapperCache.columnIndex(metaData, "seat_no"),
+                MapperCache.columnIndex(metaData, "cost"),
+                MapperCache.columnIndex(metaData, "flight_id"),
+                MapperCache.columnIndex(metaData, "version"),
+                null
+        );
+    }
+
+    private TicketRowMapper(int id, int passportNo, int passengerName, int seatNo, int cost, int flightId,
+                            int version, FlightRowMapper flightMapper) {
+        this.id = id;
+        this.passportNo = passportNo;
+        this.passengerName = passengerName;
+        this.seatNo = seatNo;
+        this.cost = cost;
+        this.flightId = flightId;
+        this.version = version;
+        this.flightMapper = flightMapper;
+    }
+
+    RowMapper<Ticket> withFlightLoader(Function<Long, Flight> flightLoader) {
+        return result -> {
+            var ticket = new Ticket(
+                    result.getLong(id),
+                    result.getString(passportNo),
+                    result.getString(passengerName),
+                    result.getString(seatNo),
+                    result.getLong(flightId),
+                    flightLoader,
+                    result.getBigDecimal(cost)
+            );
+            ticket.setVersion(result.getLong(version));
+            return ticket;
+        };
+    }
+
+    RowMapper<Ticket> withIdentityMap() {
+        Map<Long, Flight> flights = new HashMap<>();
+        return result -> map(result, flights);
+    }
+
+    private Ticket map(ResultSet result, Map<Long, Flight> flights) throws SQLException {
+        var flightId = flightMapper.id(result);
+        var flight = flights.get(flightId);
+        if (flight == null) {
+            flight = flightMapper.map(result);
+            flights.put(flightId, flight);
+        }
+
+        var ticket = new Ticket(
+                result.getLong(id),
+                result.getString(passportNo),
+                result.getString(passengerName),
+                result.getString(seatNo),
+                flight,
+                result.getBigDecimal(cost)
+        );
+        ticket.setVersion(result.getLong(version));
+        return ticket;
+    }
+}
@@ -0,0 +1,178 @@
+package by.java_enterprice.jdbc.dao;
+
+import by.java_enterprice.jdbc.entity.Ticket;
+import by.java_enterprice.jdbc.exception.DaoException;
+import by.java_enterprice.jdbc.metrics.Metrics;
+import by.java_enterprice.jdbc.metrics.QueryMetrics;
+import by.java_enterprice.jdbc.utils.DaoExecutors;
+import by.java_enterprice.jdbc.utils.PropertiesUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+public class TicketWriteBehind implements AutoCloseable {
+    private final static String BATCH_SIZE_KEY = "db.write.behind.batch.size";
+    private final static String FLUSH_INTERVAL_KEY = "db.write.behind.flush.ms";
+    private final static String CAPACITY_KEY = "db.write.behind.capacity";
+    private final static String ENQUEUE_TIMEOUT_KEY = "db.write.behind.enqueue.timeout.ms";
+    private final static int DEFAULT_BATCH_SIZE = 500;
+    private final static long DEFAULT_FLUSH_INTERVAL = 10;
+    private final static int DEFAULT_CAPACITY = 10_000;
+    private final static long DEFAULT_ENQUEUE_TIMEOUT = 1_000;
+    private final static int COMPLETION_THREADS = 2;
+    private final static TicketWriteBehind INSTANCE = new TicketWriteBehind();
+
+    private final static QueryMetrics FLUSH_METRICS = Metrics.query("TicketWriteBehind.flush");
+
+    private final TicketDao ticketDao = TicketDao.getInstance();
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long enqueueTimeoutMillis;
+    private final Semaphore capacity;
+    private final ExecutorService completions = DaoExecutors.newBoundedExecutor(
+            "ticket-write-behind-completion", COMPLETION_THREADS);
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final Thread flusher;
+
+    public CompletableFuture<Long> save(Ticket ticket) {
+        if (closed.get()) {
+            throw new DaoException("Write-behind queue is closed");
+        }
+        acquire();
+
+        var pending = new Pending(ticket, new CompletableFuture<>());
+        queue.offer(pending);
+        if (closed.get() && queue.remove(pending)) {
+            capacity.release();
+            throw new DaoException("Write-behind queue is closed");
+        }
+        if (queued.incrementAndGet() >= batchSize) {
+            LockSupport.unpark(flusher);
+        }
+        return pending.future();
+    }
+
+    public int pending() {
+        return queued.get();
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            completions.shutdown();
+        }
+    }
+
+    private void acquire() {
+        try {
+            if (!capacity.tryAcquire(enqueueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new DaoException("Write-behind queue is full (" + queued.get() + " pending tickets)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DaoException(e);
+        }
+    }
+
+    private void run() {
+        while (!closed.get()) {
+            LockSupport.parkNanos(this, flushIntervalNanos);
+            drain();
+        }
+        drain();
+    }
+
+    private void drain() {
+        int flushed;
+        do {
+            flushed = flush();
+        } while (flushed == batchSize);
+    }
+
+    private int flush() {
+        List<Pending> batch = new ArrayList<>(Math.min(queued.get(), batchSize));
+        Pending pending;
+        while (batch.size() < batchSize && (pending = queue.poll()) != null) {
+            batch.add(pending);
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        queued.addAndGet(-batch.size());
+
+        var start = System.nanoTime();
+        try {
+            ticketDao.saveAll(batch.stream().map(Pending::ticket).toList());
+            FLUSH_METRICS.record(start, batch.size());
+            batch.forEach(p -> complete(p, p.ticket().getId()));
+        } catch (Throwable e) {
+            FLUSH_METRICS.recordError(start);
+            batch.forEach(this::saveOne);
+        } finally {
+            capacity.release(batch.size());
+        }
+        return batch.size();
+    }
+
+    private void saveOne(Pending pending) {
+        Long id;
+        try {
+            id = ticketDao.save(pending.ticket()).getId();
+        } catch (Throwable e) {
+            completions.execute(() -> pending.future().completeExceptionally(e));
+            return;
+        }
+        complete(pending, id);
+    }
+
+    private void complete(Pending pending, Long id) {
+        pending.future().completeAsync(() -> id, completions);
+    }
+
+    private static int getInt(String key, int defaultValue) {
+        String value = PropertiesUtil.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    private static long getLong(String key, long defaultValue) {
+        String value = PropertiesUtil.get(key);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+
+    private record Pending(Ticket ticket, CompletableFuture<Long> future) {
+    }
+
+    private TicketWriteBehind() {
+        batchSize = getInt(BATCH_SIZE_KEY, DEFAULT_BATCH_SIZE);
+        flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(getLong(FLUSH_INTERVAL_KEY, DEFAULT_FLUSH_INTERVAL));
+        enqueueTimeoutMillis = getLong(ENQUEUE_TIMEOUT_KEY, DEFAULT_ENQUEUE_TIMEOUT);
+        capacity = new Semaphore(getInt(CAPACITY_KEY, DEFAULT_CAPACITY));
+
+        flusher = new Thread(this::run, "ticket-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "ticket-write-behind-shutdown"));
+    }
+
+    public static TicketWriteBehind getInstance() {
+        return INSTANCE;
+    }
+}
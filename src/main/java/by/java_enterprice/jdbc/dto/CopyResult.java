@@ -0,0 +1,12 @@
+package by.java_enterprice.jdbc.dto;
+
+import java.util.concurrent.TimeUnit;
+
+public record CopyResult(
+        long rows,
+        long elapsedNanos) {
+
+    public double rowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+}
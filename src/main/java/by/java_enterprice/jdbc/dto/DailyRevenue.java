@@ -0,0 +1,11 @@
+package by.java_enterprice.jdbc.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record DailyRevenue(
+        LocalDate day,
+        long flights,
+        long tickets,
+        BigDecimal revenue) {
+}
@@ -0,0 +1,10 @@
+package by.java_enterprice.jdbc.dto;
+
+import java.math.BigDecimal;
+
+public record FlightRevenue(
+        Long flightId,
+        String flightNo,
+        long tickets,
+        BigDecimal revenue) {
+}
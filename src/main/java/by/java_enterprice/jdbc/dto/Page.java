@@ -0,0 +1,12 @@
+package by.java_enterprice.jdbc.dto;
+
+import java.util.List;
+
+public record Page<T>(
+        List<T> items,
+        String nextPageToken) {
+
+    public boolean hasNext() {
+        return nextPageToken != null;
+    }
+}
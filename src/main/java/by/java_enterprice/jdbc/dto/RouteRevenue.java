@@ -0,0 +1,11 @@
+package by.java_enterprice.jdbc.dto;
+
+import java.math.BigDecimal;
+
+public record RouteRevenue(
+        String departureAirportCode,
+        String arrivalAirportCode,
+        long flights,
+        long tickets,
+        BigDecimal revenue) {
+}
@@ -0,0 +1,13 @@
+package by.java_enterprice.jdbc.dto;
+
+import java.util.concurrent.TimeUnit;
+
+public record ScanResult(
+        long rows,
+        int partitions,
+        long elapsedNanos) {
+
+    public double rowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+}
@@ -0,0 +1,12 @@
+package by.java_enterprice.jdbc.dto;
+
+import by.java_enterprice.jdbc.entity.FlightStatus;
+
+import java.math.BigDecimal;
+
+public record StatusRevenue(
+        FlightStatus status,
+        long flights,
+        long tickets,
+        BigDecimal revenue) {
+}
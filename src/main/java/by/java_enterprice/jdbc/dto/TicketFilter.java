@@ -1,8 +1,130 @@
 package by.java_enterprice.jdbc.dto;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
 public record TicketFilter (
     String passengerName,
     String seatNo,
     int limit,
-    int offset) {
+    int offset,
+    String pageToken,
+    BigDecimal minCost,
+    BigDecimal maxCost,
+    Long flightId,
+    LocalDateTime departureFrom,
+    LocalDateTime departureTo,
+    String departureAirportCode,
+    String arrivalAirportCode,
+    List<String> seatNos,
+    List<Long> flightIds,
+    TicketSort sort,
+    boolean descending) {
+
+    public TicketFilter(String passengerName, String seatNo, int limit, int offset) {
+        this(passengerName, seatNo, limit, offset, null);
+    }
+
+    public TicketFilter(String passengerName, String seatNo, int limit, int offset, String pageToken) {
+        this(passengerName, seatNo, limit, offset, pageToken, null, null, null, null, null, null, null,
+                null, null, null, false);
+    }
+
+    public static TicketFilter keyset(String passengerName, String seatNo, int limit, String pageToken) {
+        return new TicketFilter(passengerName, seatNo, limit, 0, pageToken);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private String passengerName;
+        private String seatNo;
+        private int limit;
+        private int offset;
+        private String pageToken;
+        private BigDecimal minCost;
+        private BigDecimal maxCost;
+        private Long flightId;
+        private LocalDateTime departureFrom;
+        private LocalDateTime departureTo;
+        private String departureAirportCode;
+        private String arrivalAirportCode;
+        private List<String> seatNos;
+        private List<Long> flightIds;
+        private TicketSort sort;
+        private boolean descending;
+
+        public Builder passengerName(String passengerName) {
+            this.passengerName = passengerName;
+            return this;
+        }
+
+        public Builder seatNo(String seatNo) {
+            this.seatNo = seatNo;
+            return this;
+        }
+
+        public Builder limit(int limit) {
+            this.limit = limit;
+            return this;
+        }
+
+        public Builder offset(int offset) {
+            this.offset = offset;
+            return this;
+        }
+
+        public Builder pageToken(String pageToken) {
+            this.pageToken = pageToken;
+            return this;
+        }
+
+        public Builder cost(BigDecimal minCost, BigDecimal maxCost) {
+            this.minCost = minCost;
+            this.maxCost = maxCost;
+            return this;
+        }
+
+        public Builder flightId(Long flightId) {
+            this.flightId = flightId;
+            return this;
+        }
+
+        public Builder departure(LocalDateTime from, LocalDateTime to) {
+            this.departureFrom = from;
+            this.departureTo = to;
+            return this;
+        }
+
+        public Builder route(String departureAirportCode, String arrivalAirportCode) {
+            this.departureAirportCode = departureAirportCode;
+            this.arrivalAirportCode = arrivalAirportCode;
+            return this;
+        }
+
+        public Builder seatNos(List<String> seatNos) {
+            this.seatNos = seatNos == null ? null : List.copyOf(seatNos);
+            return this;
+        }
+
+        public Builder flightIds(List<Long> flightIds) {
+            this.flightIds = flightIds == null ? null : List.copyOf(flightIds);
+            return this;
+        }
+
+        public Builder sort(TicketSort sort, boolean descending) {
+            this.sort = sort;
+            this.descending = descending;
+            return this;
+        }
+
+        public TicketFilter build() {
+            return new TicketFilter(passengerName, seatNo, limit, offset, pageToken, minCost, maxCost, flightId,
+                    departureFrom, departureTo, departureAirportCode, arrivalAirportCode, seatNos, flightIds,
+                    sort, descending);
+        }
+    }
 }
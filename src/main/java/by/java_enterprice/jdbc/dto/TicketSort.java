@@ -0,0 +1,9 @@
+package by.java_enterprice.jdbc.dto;
+
+public enum TicketSort {
+    ID,
+    COST,
+    PASSENGER_NAME,
+    SEAT_NO,
+    DEPARTURE_DATE
+}
@@ -0,0 +1,8 @@
+package by.java_enterprice.jdbc.dto;
+
+public record TicketSummary(
+        Long id,
+        String seatNo,
+        String passengerName,
+        String flightNo) {
+}
@@ -1,15 +1,22 @@
 package by.java_enterprice.jdbc.entity;
 
 import java.math.BigDecimal;
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 
 public class Ticket {
     private Long id;
     private String passportNo;
     private String passengerName;
+    private Long flightId;
     private Flight flight;
+    private Function<Long, Flight> flightLoader;
     private String seatNo;
     private BigDecimal cost;
+    private Long version;
+    private final EnumSet<TicketField> dirtyFields = EnumSet.noneOf(TicketField.class);
 
     public Ticket() {
     }
@@ -20,10 +27,22 @@ public class Ticket {
         this.passportNo = passportNo;
         this.passengerName = passengerName;
         this.seatNo = seatNo;
+        this.flightId = flight == null ? null : flight.getId();
         this.flight = flight;
         this.cost = cost;
     }
 
+    public Ticket(Long id, String passportNo, String passengerName, String seatNo, Long flightId,
+                  Function<Long, Flight> flightLoader, BigDecimal cost) {
+        this.id = id;
+        this.passportNo = passportNo;
+        this.passengerName = passengerName;
+        this.seatNo = seatNo;
+        this.flightId = flightId;
+        this.flightLoader = flightLoader;
+        this.cost = cost;
+    }
+
     public Long getId() {
         return id;
     }
@@ -38,6 +57,7 @@ public class Ticket {
 
     public void setPassportNo(String passportNo) {
         this.passportNo = passportNo;
+        dirtyFields.add(TicketField.PASSPORT_NO);
     }
 
     public String getPassengerName() {
@@ -46,14 +66,36 @@ public class Ticket {
 
     public void setPassengerName(String passengerName) {
         this.passengerName = passengerName;
+        dirtyFields.add(TicketField.PASSENGER_NAME);
+    }
+
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    public void setFlightId(Long flightId) {
+        if (!Objects.equals(this.flightId, flightId)) {
+            this.flight = null;
+        }
+        this.flightId = flightId;
+        dirtyFields.add(TicketField.FLIGHT_ID);
     }
 
     public Flight getFlight() {
+        if (flight == null && flightId != null && flightLoader != null) {
+            flight = flightLoader.apply(flightId);
+        }
         return flight;
     }
 
-    public void setFlightId(Flight flight) {
+    public void setFlight(Flight flight) {
         this.flight = flight;
+        this.flightId = flight == null ? null : flight.getId();
+        dirtyFields.add(TicketField.FLIGHT_ID);
+    }
+
+    public boolean isFlightLoaded() {
+        return flight != null;
     }
 
     public String getSeatNo() {
@@ -62,6 +104,7 @@ public class Ticket {
 
     public void setSeatNo(String seatNo) {
         this.seatNo = seatNo;
+        dirtyFields.add(TicketField.SEAT_NO);
     }
 
     public BigDecimal getCost() {
@@ -70,6 +113,27 @@ public class Ticket {
 
     public void setCost(BigDecimal cost) {
         this.cost = cost;
+        dirtyFields.add(TicketField.COST);
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Set<TicketField> getDirtyFields() {
+        return EnumSet.copyOf(dirtyFields);
+    }
+
+    public boolean isDirty() {
+        return !dirtyFields.isEmpty();
+    }
+
+    public void clearDirtyFields() {
+        dirtyFields.clear();
     }
 
     @Override
@@ -78,9 +142,10 @@ public class Ticket {
                 "id=" + id +
                 ", passportNo='" + passportNo + '\'' +
                 ", passengerName='" + passengerName + '\'' +
-                ", flightId=" + flight +
+                ", flightId=" + flightId +
                 ", seatNo='" + seatNo + '\'' +
                 ", cost=" + cost +
+                ", version=" + version +
                 '}';
     }
 
@@ -88,11 +153,11 @@ public class Ticket {
     public boolean equals(Object o) {
         if (!(o instanceof Ticket)) return false;
         Ticket ticket = (Ticket) o;
-        return Objects.equals(id, ticket.id) && Objects.equals(passportNo, ticket.passportNo) && Objects.equals(passengerName, ticket.passengerName) && Objects.equals(flight, ticket.flight) && Objects.equals(seatNo, ticket.seatNo) && Objects.equals(cost, ticket.cost);
+        return Objects.equals(id, ticket.id) && Objects.equals(passportNo, ticket.passportNo) && Objects.equals(passengerName, ticket.passengerName) && Objects.equals(flightId, ticket.flightId) && Objects.equals(seatNo, ticket.seatNo) && Objects.equals(cost, ticket.cost);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, passportNo, passengerName, flight, seatNo, cost);
+        return Objects.hash(id, passportNo, passengerName, flightId, seatNo, cost);
     }
 }
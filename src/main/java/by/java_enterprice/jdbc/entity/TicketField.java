@@ -0,0 +1,9 @@
+package by.java_enterprice.jdbc.entity;
+
+public enum TicketField {
+    PASSPORT_NO,
+    PASSENGER_NAME,
+    FLIGHT_ID,
+    SEAT_NO,
+    COST
+}
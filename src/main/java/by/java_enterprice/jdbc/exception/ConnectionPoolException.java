@@ -0,0 +1,11 @@
+package by.java_enterprice.jdbc.exception;
+
+public class ConnectionPoolException extends RuntimeException {
+    public ConnectionPoolException(String message) {
+        super(message);
+    }
+
+    public ConnectionPoolException(String message, Throwable e) {
+        super(message, e);
+    }
+}
@@ -3,6 +3,10 @@ package by.java_enterprice.jdbc.exception;
 import java.sql.SQLException;
 
 public class DaoException extends RuntimeException {
+    public DaoException(String message) {
+        super(message);
+    }
+
     public DaoException(Throwable e) {
         super(e);
     }
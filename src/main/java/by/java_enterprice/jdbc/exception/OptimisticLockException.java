@@ -0,0 +1,20 @@
+package by.java_enterprice.jdbc.exception;
+
+public class OptimisticLockException extends DaoException {
+    private final Object id;
+    private final Long expectedVersion;
+
+    public OptimisticLockException(String entity, Object id, Long expectedVersion) {
+        super(entity + " " + id + " was modified concurrently (expected version " + expectedVersion + ")");
+        this.id = id;
+        this.expectedVersion = expectedVersion;
+    }
+
+    public Object getId() {
+        return id;
+    }
+
+    public Long getExpectedVersion() {
+        return expectedVersion;
+    }
+}
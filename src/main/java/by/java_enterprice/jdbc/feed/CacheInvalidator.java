@@ -0,0 +1,37 @@
+package by.java_enterprice.jdbc.feed;
+
+import by.java_enterprice.jdbc.dao.FlightDao;
+import by.java_enterprice.jdbc.dao.SeatIndex;
+import by.java_enterprice.jdbc.entity.Ticket;
+
+public class CacheInvalidator implements ChangeListener {
+    private final FlightDao flightDao = FlightDao.getInstance();
+    private final SeatIndex seatIndex = SeatIndex.getInstance();
+
+    @Override
+    public void onChange(ChangeEvent event) {
+        switch (event.entity()) {
+            case FLIGHT -> flightDao.invalidate(event.id());
+            case TICKET -> onTicketChange(event);
+        }
+    }
+
+    @Override
+    public void onResync() {
+        flightDao.invalidateAll();
+        seatIndex.invalidateAll();
+    }
+
+    private void onTicketChange(ChangeEvent event) {
+        if (event.operation() == ChangeOperation.DELETE) {
+            seatIndex.onDeleted(event.id());
+            return;
+        }
+        var ticket = new Ticket(event.id(), null, null, event.seatNo(), event.flightId(), null, null);
+        if (event.operation() == ChangeOperation.INSERT) {
+            seatIndex.onSaved(ticket);
+        } else {
+            seatIndex.onUpdated(ticket);
+        }
+    }
+}
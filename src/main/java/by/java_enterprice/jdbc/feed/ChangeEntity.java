@@ -0,0 +1,6 @@
+package by.java_enterprice.jdbc.feed;
+
+public enum ChangeEntity {
+    FLIGHT,
+    TICKET
+}
@@ -0,0 +1,35 @@
+package by.java_enterprice.jdbc.feed;
+
+public record ChangeEvent(
+        ChangeEntity entity,
+        ChangeOperation operation,
+        Long id,
+        Long flightId,
+        Long previousFlightId,
+        String previousSeatNo,
+        String seatNo) {
+
+    static ChangeEvent parse(String payload) {
+        var fields = payload.split(",", -1);
+        if (fields.length != 7) {
+            throw new IllegalArgumentException("Malformed change payload: " + payload);
+        }
+        return new ChangeEvent(
+                ChangeEntity.valueOf(fields[0].toUpperCase()),
+                ChangeOperation.valueOf(fields[1]),
+                Long.valueOf(fields[2]),
+                toLong(fields[3]),
+                toLong(fields[4]),
+                toText(fields[5]),
+                toText(fields[6])
+        );
+    }
+
+    private static Long toLong(String field) {
+        return field.isEmpty() ? null : Long.valueOf(field);
+    }
+
+    private static String toText(String field) {
+        return field.isEmpty() ? null : field;
+    }
+}
@@ -0,0 +1,169 @@
+package by.java_enterprice.jdbc.feed;
+
+import by.java_enterprice.jdbc.exception.DaoException;
+import by.java_enterprice.jdbc.utils.ConnectionManager;
+import by.java_enterprice.jdbc.utils.PropertiesUtil;
+import by.java_enterprice.jdbc.utils.SqlScripts;
+import org.postgresql.PGConnection;
+
+import java.lang.System.Logger.Level;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class ChangeFeed implements AutoCloseable {
+    private final static String CHANNEL_KEY = "db.change.feed.channel";
+    private final static String DEFAULT_CHANNEL = "entity_changes";
+    private final static String INSTALL_KEY = "db.change.feed.install";
+    private final static String TRIGGER_SCRIPT = "db/change_feed.sql";
+    private final static int POLL_TIMEOUT_MILLIS = 500;
+    private final static long MIN_BACKOFF_MILLIS = 100;
+    private final static long MAX_BACKOFF_MILLIS = 10_000;
+    private final static ChangeFeed INSTANCE = new ChangeFeed();
+    private final static System.Logger LOG = System.getLogger(ChangeFeed.class.getName());
+
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final String channel;
+    private Thread worker;
+    private volatile boolean closed;
+
+    public void subscribe(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void unsubscribe(ChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    public synchronized void start() {
+        if (worker != null) {
+            return;
+        }
+        String install = PropertiesUtil.get(INSTALL_KEY);
+        if (install == null || Boolean.parseBoolean(install)) {
+            installTriggers();
+        }
+        closed = false;
+        worker = new Thread(this::run, "change-feed-" + channel);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public void installTriggers() {
+        try (var connection = ConnectionManager.pool().borrow()) {
+            SqlScripts.run(connection, TRIGGER_SCRIPT, Map.of("channel", channel));
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    public boolean isRunning() {
+        return worker != null && worker.isAlive();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (worker == null) {
+            return;
+        }
+        closed = true;
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        worker = null;
+    }
+
+    private void run() {
+        var backoff = MIN_BACKOFF_MILLIS;
+        var connectedBefore = false;
+        while (!closed) {
+            try (var connection = open()) {
+                try (var statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (connectedBefore) {
+                    publishResync();
+                }
+                connectedBefore = true;
+                backoff = MIN_BACKOFF_MILLIS;
+
+                var pgConnection = connection.unwrap(PGConnection.class);
+                while (!closed) {
+                    var notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (var notification : notifications) {
+                        if (channel.equals(notification.getName())) {
+                            publish(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!closed) {
+                    LOG.log(Level.WARNING, "Change feed connection lost, reconnecting in " + backoff + " ms", e);
+                    sleep(backoff);
+                    backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+                }
+            }
+        }
+    }
+
+    private void publish(String payload) {
+        ChangeEvent event;
+        try {
+            event = ChangeEvent.parse(payload);
+        } catch (IllegalArgumentException e) {
+            LOG.log(Level.WARNING, "Skipping malformed change notification: " + payload, e);
+            return;
+        }
+        for (var listener : listeners) {
+            try {
+                listener.onChange(event);
+            } catch (RuntimeException e) {
+                LOG.log(Level.ERROR, "Change listener failed on " + event, e);
+            }
+        }
+    }
+
+    private void publishResync() {
+        for (var listener : listeners) {
+            try {
+                listener.onResync();
+            } catch (RuntimeException e) {
+                LOG.log(Level.ERROR, "Change listener failed on resync", e);
+            }
+        }
+    }
+
+    private Connection open() throws SQLException {
+        var config = ConnectionManager.pool().config();
+        return DriverManager.getConnection(config.url(), config.driverProperties());
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closed = true;
+        }
+    }
+
+    private ChangeFeed() {
+        String value = PropertiesUtil.get(CHANNEL_KEY);
+        channel = value == null || value.isBlank() ? DEFAULT_CHANNEL : value;
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid change feed channel: " + channel);
+        }
+    }
+
+    public static ChangeFeed getInstance() {
+        return INSTANCE;
+    }
+}
@@ -0,0 +1,9 @@
+package by.java_enterprice.jdbc.feed;
+
+@FunctionalInterface
+public interface ChangeListener {
+    void onChange(ChangeEvent event);
+
+    default void onResync() {
+    }
+}
@@ -0,0 +1,7 @@
+package by.java_enterprice.jdbc.feed;
+
+public enum ChangeOperation {
+    INSERT,
+    UPDATE,
+    DELETE
+}
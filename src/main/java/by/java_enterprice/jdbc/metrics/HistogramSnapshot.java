@@ -0,0 +1,29 @@
+package by.java_enterprice.jdbc.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+public record HistogramSnapshot(
+        long count,
+        long meanNanos,
+        long p50Nanos,
+        long p90Nanos,
+        long p99Nanos,
+        long p999Nanos,
+        long maxNanos) {
+
+    public double meanMillis() {
+        return toMillis(meanNanos);
+    }
+
+    public double p99Millis() {
+        return toMillis(p99Nanos);
+    }
+
+    public double maxMillis() {
+        return toMillis(maxNanos);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,50 @@
+package by.java_enterprice.jdbc.metrics;
+
+import by.java_enterprice.jdbc.pool.ConnectionPool;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class Metrics {
+    private static final String DOMAIN = "by.java_enterprice.jdbc";
+    private static final Map<String, QueryMetrics> QUERIES = new ConcurrentHashMap<>();
+    private static final Map<String, PoolMetrics> POOLS = new ConcurrentHashMap<>();
+
+    public static QueryMetrics query(String name) {
+        return QUERIES.computeIfAbsent(name, key -> register("Query", key, new QueryMetrics(key)));
+    }
+
+    public static PoolMetrics pool(String name, ConnectionPool pool) {
+        return POOLS.computeIfAbsent(name, key -> register("ConnectionPool", key, new PoolMetrics(key, pool)));
+    }
+
+    public static List<QuerySnapshot> querySnapshots() {
+        return QUERIES.values().stream()
+                .map(QueryMetrics::snapshot)
+                .toList();
+    }
+
+    public static List<PoolSnapshot> poolSnapshots() {
+        return POOLS.values().stream()
+                .map(PoolMetrics::snapshot)
+                .toList();
+    }
+
+    private static <T> T register(String type, String name, T bean) {
+        try {
+            var objectName = new ObjectName(DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+            var server = ManagementFactory.getPlatformMBeanServer();
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(bean, objectName);
+            }
+        } catch (JMException ignored) {
+        }
+        return bean;
+    }
+
+    private Metrics() {}
+}
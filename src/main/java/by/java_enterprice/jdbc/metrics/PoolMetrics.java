@@ -0,0 +1,133 @@
+package by.java_enterprice.jdbc.metrics;
+
+import by.java_enterprice.jdbc.pool.ConnectionPool;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class PoolMetrics implements PoolMetricsMXBean {
+    private final String name;
+    private final ConnectionPool pool;
+    private final LatencyHistogram borrowWait = new LatencyHistogram();
+    private final LatencyHistogram checkout = new LatencyHistogram();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+
+    PoolMetrics(String name, ConnectionPool pool) {
+        this.name = name;
+        this.pool = pool;
+    }
+
+    public void recordBorrow(long waitNanos) {
+        borrowWait.record(waitNanos);
+    }
+
+    public void recordTimeout() {
+        timeouts.increment();
+    }
+
+    public void recordCheckout(long heldNanos) {
+        checkout.record(heldNanos);
+    }
+
+    public void recordStatementCacheHit() {
+        statementCacheHits.increment();
+    }
+
+    public void recordStatementCacheMiss() {
+        statementCacheMisses.increment();
+    }
+
+    public PoolSnapshot snapshot() {
+        return new PoolSnapshot(
+                name,
+                pool.totalConnections(),
+                pool.activeConnections(),
+                pool.idleConnections(),
+                pool.pendingThreads(),
+                pool.config().maxSize(),
+                timeouts.sum(),
+                borrowWait.snapshot(),
+                checkout.snapshot(),
+                statementCacheHits.sum(),
+                statementCacheMisses.sum()
+        );
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getTotalConnections() {
+        return pool.totalConnections();
+    }
+
+    @Override
+    public int getActiveConnections() {
+        return pool.activeConnections();
+    }
+
+    @Override
+    public int getIdleConnections() {
+        return pool.idleConnections();
+    }
+
+    @Override
+    public int getPendingThreads() {
+        return pool.pendingThreads();
+    }
+
+    @Override
+    public double getSaturation() {
+        return pool.activeConnections() / (double) pool.config().maxSize();
+    }
+
+    @Override
+    public long getBorrowCount() {
+        return borrowWait.count();
+    }
+
+    @Override
+    public long getBorrowTimeouts() {
+        return timeouts.sum();
+    }
+
+    @Override
+    public double getBorrowWaitMeanMillis() {
+        return borrowWait.snapshot().meanMillis();
+    }
+
+    @Override
+    public double getBorrowWaitP99Millis() {
+        return borrowWait.snapshot().p99Millis();
+    }
+
+    @Override
+    public double getBorrowWaitMaxMillis() {
+        return borrowWait.snapshot().maxMillis();
+    }
+
+    @Override
+    public double getCheckoutP99Millis() {
+        return checkout.snapshot().p99Millis();
+    }
+
+    @Override
+    public long getStatementCacheHits() {
+        return statementCacheHits.sum();
+    }
+
+    @Override
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.sum();
+    }
+
+    @Override
+    public double getStatementCacheHitRate() {
+        var hits = statementCacheHits.sum();
+        var requests = hits + statementCacheMisses.sum();
+        return requests == 0 ? 0 : hits / (double) requests;
+    }
+}
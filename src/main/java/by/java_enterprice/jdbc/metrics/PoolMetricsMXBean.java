@@ -0,0 +1,19 @@
+package by.java_enterprice.jdbc.metrics;
+
+public interface PoolMetricsMXBean {
+    String getName();
+    int getTotalConnections();
+    int getActiveConnections();
+    int getIdleConnections();
+    int getPendingThreads();
+    double getSaturation();
+    long getBorrowCount();
+    long getBorrowTimeouts();
+    double getBorrowWaitMeanMillis();
+    double getBorrowWaitP99Millis();
+    double getBorrowWaitMaxMillis();
+    double getCheckoutP99Millis();
+    long getStatementCacheHits();
+    long getStatementCacheMisses();
+    double getStatementCacheHitRate();
+}
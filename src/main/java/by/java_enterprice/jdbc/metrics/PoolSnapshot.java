@@ -0,0 +1,24 @@
+package by.java_enterprice.jdbc.metrics;
+
+public record PoolSnapshot(
+        String name,
+        int totalConnections,
+        int activeConnections,
+        int idleConnections,
+        int pendingThreads,
+        int maxSize,
+        long borrowTimeouts,
+        HistogramSnapshot borrowWait,
+        HistogramSnapshot checkout,
+        long statementCacheHits,
+        long statementCacheMisses) {
+
+    public double saturation() {
+        return activeConnections / (double) maxSize;
+    }
+
+    public double statementCacheHitRate() {
+        var requests = statementCacheHits + statementCacheMisses;
+        return requests == 0 ? 0 : statementCacheHits / (double) requests;
+    }
+}
@@ -0,0 +1,63 @@
+package by.java_enterprice.jdbc.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class QueryMetrics implements QueryMetricsMXBean {
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    QueryMetrics(String name) {
+        this.name = name;
+    }
+
+    public void record(long startNanos, long rowCount) {
+        latency.record(System.nanoTime() - startNanos);
+        rows.add(rowCount);
+    }
+
+    public void recordError(long startNanos) {
+        latency.record(System.nanoTime() - startNanos);
+        errors.increment();
+    }
+
+    public QuerySnapshot snapshot() {
+        return new QuerySnapshot(name, latency.snapshot(), rows.sum(), errors.sum());
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCount() {
+        return latency.count();
+    }
+
+    @Override
+    public long getRows() {
+        return rows.sum();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return latency.snapshot().meanMillis();
+    }
+
+    @Override
+    public double getP99Millis() {
+        return latency.snapshot().p99Millis();
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return latency.snapshot().maxMillis();
+    }
+}
@@ -0,0 +1,11 @@
+package by.java_enterprice.jdbc.metrics;
+
+public interface QueryMetricsMXBean {
+    String getName();
+    long getCount();
+    long getRows();
+    long getErrors();
+    double getMeanMillis();
+    double getP99Millis();
+    double getMaxMillis();
+}
@@ -0,0 +1,8 @@
+package by.java_enterprice.jdbc.metrics;
+
+public record QuerySnapshot(
+        String name,
+        HistogramSnapshot latency,
+        long rows,
+        long errors) {
+}
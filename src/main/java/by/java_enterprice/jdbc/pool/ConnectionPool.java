@@ -0,0 +1,216 @@
+package by.java_enterprice.jdbc.pool;
+
+import by.java_enterprice.jdbc.exception.ConnectionPoolException;
+import by.java_enterprice.jdbc.metrics.Metrics;
+import by.java_enterprice.jdbc.metrics.PoolMetrics;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ConnectionPool implements AutoCloseable {
+    private final PoolConfig config;
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger total = new AtomicInteger();
+    private final ScheduledExecutorService evictor;
+    private final PoolMetrics metrics;
+    private final SqlTracer tracer;
+    private volatile boolean closed;
+
+    public ConnectionPool(String name, PoolConfig config) {
+        this.config = config;
+        this.permits = new Semaphore(config.maxSize());
+        this.metrics = Metrics.pool(name, this);
+        this.tracer = new SqlTracer(this, config.trace());
+
+        for (int i = 0; i < config.minSize(); i++) {
+            idle.offerLast(open());
+        }
+
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "connection-pool-evictor-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        var period = Math.max(config.idleTimeoutMillis() / 2, 1000);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public PooledConnection borrow() {
+        checkOpen();
+        var start = System.nanoTime();
+        if (!acquirePermit(config.acquireTimeoutMillis())) {
+            metrics.recordTimeout();
+            throw new ConnectionPoolException("Timed out after " + config.acquireTimeoutMillis()
+                    + " ms waiting for a connection (active=" + activeConnections()
+                    + ", max=" + config.maxSize() + ")");
+        }
+        return take(start);
+    }
+
+    public PooledConnection tryBorrow(long timeoutMillis) {
+        checkOpen();
+        var start = System.nanoTime();
+        return acquirePermit(timeoutMillis) ? take(start) : null;
+    }
+
+    void release(PooledConnection connection) {
+        metrics.recordCheckout(System.nanoTime() - connection.borrowedNanos());
+        try {
+            if (closed || !resetState(connection)) {
+                discard(connection);
+                return;
+            }
+            connection.markReturned();
+            idle.offerFirst(connection);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int totalConnections() {
+        return total.get();
+    }
+
+    public int idleConnections() {
+        return idle.size();
+    }
+
+    public int activeConnections() {
+        return config.maxSize() - permits.availablePermits();
+    }
+
+    public int pendingThreads() {
+        return permits.getQueueLength();
+    }
+
+    public PoolConfig config() {
+        return config;
+    }
+
+    public PoolMetrics metrics() {
+        return metrics;
+    }
+
+    public SqlTracer tracer() {
+        return tracer;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        evictor.shutdownNow();
+        PooledConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            discard(connection);
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new ConnectionPoolException("Connection pool is closed");
+        }
+    }
+
+    private boolean acquirePermit(long timeoutMillis) {
+        try {
+            return permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectionPoolException("Interrupted while waiting for a connection", e);
+        }
+    }
+
+    private PooledConnection take(long startNanos) {
+        try {
+            PooledConnection connection;
+            while ((connection = idle.pollFirst()) != null) {
+                if (isAlive(connection)) {
+                    return markBorrowed(connection, startNanos);
+                }
+                discard(connection);
+            }
+
+            return markBorrowed(open(), startNanos);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledConnection markBorrowed(PooledConnection connection, long startNanos) {
+        connection.markBorrowed();
+        metrics.recordBorrow(connection.borrowedNanos() - startNanos);
+        return connection;
+    }
+
+    private boolean isAlive(PooledConnection connection) {
+        var idleNanos = System.nanoTime() - connection.lastReturnedNanos();
+        if (idleNanos < TimeUnit.MILLISECONDS.toNanos(config.validationIntervalMillis())) {
+            return true;
+        }
+        try {
+            return connection.delegate().isValid(config.validationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean resetState(PooledConnection connection) {
+        try {
+            var delegate = connection.delegate();
+            if (delegate.isClosed()) {
+                return false;
+            }
+            if (!delegate.getAutoCommit()) {
+                delegate.rollback();
+                delegate.setAutoCommit(true);
+            }
+            if (delegate.isReadOnly()) {
+                delegate.setReadOnly(false);
+            }
+            delegate.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void evictIdle() {
+        var timeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.idleTimeoutMillis());
+        var candidates = idle.size() - config.minSize();
+
+        for (int i = 0; i < candidates; i++) {
+            var connection = idle.pollLast();
+            if (connection == null) {
+                return;
+            }
+            if (System.nanoTime() - connection.lastReturnedNanos() < timeoutNanos) {
+                idle.offerLast(connection);
+                return;
+            }
+            discard(connection);
+        }
+    }
+
+    private void discard(PooledConnection connection) {
+        total.decrementAndGet();
+        connection.closePhysically();
+    }
+
+    private PooledConnection open() {
+        try {
+            var connection = DriverManager.getConnection(config.url(), config.driverProperties());
+            total.incrementAndGet();
+            return new PooledConnection(this, connection, new StatementCache(config.statementCacheSize(), metrics));
+        } catch (SQLException e) {
+            throw new ConnectionPoolException("Unable to open connection to " + config.url(), e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package by.java_enterprice.jdbc.pool;
+
+import java.util.Properties;
+
+public record PoolConfig(
+        String url,
+        Properties driverProperties,
+        int minSize,
+        int maxSize,
+        long acquireTimeoutMillis,
+        long idleTimeoutMillis,
+        long validationIntervalMillis,
+        int validationTimeoutSeconds,
+        int statementCacheSize,
+        TraceConfig trace) {
+
+    public PoolConfig {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        if (minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("minSize must be between 0 and " + maxSize + ": " + minSize);
+        }
+    }
+}
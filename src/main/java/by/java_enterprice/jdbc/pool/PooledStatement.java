@@ -0,0 +1,326 @@
+package by.java_enterprice.jdbc.pool;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+
+public class PooledStatement implements Statement {
+    private final PooledConnection connection;
+    private final Statement delegate;
+    private final SqlTracer tracer;
+    private String batchSql;
+    private int batched;
+    private TracingResultSet openResult;
+    private boolean closed;
+
+    PooledStatement(PooledConnection connection, Statement delegate) {
+        this.connection = connection;
+        this.delegate = delegate;
+        this.tracer = connection.tracer().isEnabled() ? connection.tracer() : null;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        finishOpenResult();
+        delegate.close();
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return closed || delegate.isClosed();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(delegate) ? iface.cast(delegate) : delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(delegate) || delegate.isWrapperFor(iface);
+    }
+
+    @Override
+    public ResultSet executeQuery(String sql) throws SQLException {
+        if (tracer == null) {
+            return delegate.executeQuery(sql);
+        }
+        finishOpenResult();
+        var trace = tracer.begin(sql, null, 0);
+        var start = System.nanoTime();
+        try {
+            var result = delegate.executeQuery(sql);
+            trace.executed(System.nanoTime() - start);
+            openResult = new TracingResultSet(this, result, tracer, trace);
+            return openResult;
+        } catch (SQLException | RuntimeException e) {
+            trace.executed(System.nanoTime() - start);
+            trace.markFailed();
+            tracer.complete(trace);
+            throw e;
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql) throws SQLException {
+        return trace(sql, 0, () -> delegate.executeUpdate(sql), rows -> rows);
+    }
+
+    @Override
+    public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        return trace(sql, 0, () -> delegate.executeUpdate(sql, autoGeneratedKeys), rows -> rows);
+    }
+
+    @Override
+    public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        return trace(sql, 0, () -> delegate.executeUpdate(sql, columnIndexes), rows -> rows);
+    }
+
+    @Override
+    public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+        return trace(sql, 0, () -> delegate.executeUpdate(sql, columnNames), rows -> rows);
+    }
+
+    @Override
+    public boolean execute(String sql) throws SQLException {
+        return trace(sql, 0, () -> delegate.execute(sql), this::updateCount);
+    }
+
+    @Override
+    public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+        return trace(sql, 0, () -> delegate.execute(sql, autoGeneratedKeys), this::updateCount);
+    }
+
+    @Override
+    public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+        return trace(sql, 0, () -> delegate.execute(sql, columnIndexes), this::updateCount);
+    }
+
+    @Override
+    public boolean execute(String sql, String[] columnNames) throws SQLException {
+        return trace(sql, 0, () -> delegate.execute(sql, columnNames), this::updateCount);
+    }
+
+    @Override
+    public void addBatch(String sql) throws SQLException {
+        delegate.addBatch(sql);
+        if (batched++ == 0) {
+            batchSql = sql;
+        }
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        batched = 0;
+        batchSql = null;
+        delegate.clearBatch();
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        var batchSize = batched;
+        var sql = batchSql;
+        batched = 0;
+        batchSql = null;
+        if (batchSize == 0) {
+            return delegate.executeBatch();
+        }
+        return trace(sql, batchSize, delegate::executeBatch, PooledStatement::sum);
+    }
+
+    @Override
+    public int getMaxFieldSize() throws SQLException {
+        return delegate.getMaxFieldSize();
+    }
+
+    @Override
+    public void setMaxFieldSize(int max) throws SQLException {
+        delegate.setMaxFieldSize(max);
+    }
+
+    @Override
+    public int getMaxRows() throws SQLException {
+        return delegate.getMaxRows();
+    }
+
+    @Override
+    public void setMaxRows(int max) throws SQLException {
+        delegate.setMaxRows(max);
+    }
+
+    @Override
+    public void setEscapeProcessing(boolean enable) throws SQLException {
+        delegate.setEscapeProcessing(enable);
+    }
+
+    @Override
+    public int getQueryTimeout() throws SQLException {
+        return delegate.getQueryTimeout();
+    }
+
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException {
+        delegate.setQueryTimeout(seconds);
+    }
+
+    @Override
+    public void cancel() throws SQLException {
+        delegate.cancel();
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return delegate.getWarnings();
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        delegate.clearWarnings();
+    }
+
+    @Override
+    public void setCursorName(String name) throws SQLException {
+        delegate.setCursorName(name);
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        return delegate.getResultSet();
+    }
+
+    @Override
+    public int getUpdateCount() throws SQLException {
+        return delegate.getUpdateCount();
+    }
+
+    @Override
+    public boolean getMoreResults() throws SQLException {
+        return delegate.getMoreResults();
+    }
+
+    @Override
+    public void setFetchDirection(int direction) throws SQLException {
+        delegate.setFetchDirection(direction);
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        return delegate.getFetchDirection();
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        delegate.setFetchSize(rows);
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        return delegate.getFetchSize();
+    }
+
+    @Override
+    public int getResultSetConcurrency() throws SQLException {
+        return delegate.getResultSetConcurrency();
+    }
+
+    @Override
+    public int getResultSetType() throws SQLException {
+        return delegate.getResultSetType();
+    }
+
+    @Override
+    public boolean getMoreResults(int current) throws SQLException {
+        return delegate.getMoreResults(current);
+    }
+
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+        return delegate.getGeneratedKeys();
+    }
+
+    @Override
+    public int getResultSetHoldability() throws SQLException {
+        return delegate.getResultSetHoldability();
+    }
+
+    @Override
+    public void setPoolable(boolean poolable) throws SQLException {
+        delegate.setPoolable(poolable);
+    }
+
+    @Override
+    public boolean isPoolable() throws SQLException {
+        return delegate.isPoolable();
+    }
+
+    @Override
+    public void closeOnCompletion() throws SQLException {
+        delegate.closeOnCompletion();
+    }
+
+    @Override
+    public boolean isCloseOnCompletion() throws SQLException {
+        return delegate.isCloseOnCompletion();
+    }
+
+    private <T> T trace(String sql, int batchSize, SqlCall<T> call, RowCount<T> rowCount) throws SQLException {
+        if (tracer == null) {
+            return call.execute();
+        }
+        finishOpenResult();
+        var trace = tracer.begin(sql, null, batchSize);
+        var start = System.nanoTime();
+        try {
+            var value = call.execute();
+            trace.executed(System.nanoTime() - start);
+            trace.completed(rowCount.rows(value));
+            return value;
+        } catch (SQLException | RuntimeException e) {
+            trace.executed(System.nanoTime() - start);
+            trace.markFailed();
+            throw e;
+        } finally {
+            tracer.complete(trace);
+        }
+    }
+
+    private long updateCount(boolean hasResult) throws SQLException {
+        return hasResult ? -1 : delegate.getUpdateCount();
+    }
+
+    private void finishOpenResult() {
+        if (openResult != null) {
+            openResult.finish();
+            openResult = null;
+        }
+    }
+
+    private static long sum(int[] counts) {
+        long rows = 0;
+        for (int count : counts) {
+            rows += Math.max(count, 0);
+        }
+        return rows;
+    }
+
+    @FunctionalInterface
+    private interface SqlCall<T> {
+        T execute() throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface RowCount<T> {
+        long rows(T value) throws SQLException;
+    }
+}
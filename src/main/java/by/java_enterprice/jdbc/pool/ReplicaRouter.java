@@ -0,0 +1,79 @@
+package by.java_enterprice.jdbc.pool;
+
+import by.java_enterprice.jdbc.exception.ConnectionPoolException;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class ReplicaRouter implements AutoCloseable {
+    private final ConnectionPool primary;
+    private final List<Node> replicas;
+    private final long ejectNanos;
+    private final long acquireMillis;
+
+    public ReplicaRouter(ConnectionPool primary, List<ConnectionPool> replicas, long ejectMillis,
+                         long acquireMillis) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Node::new).toList();
+        this.ejectNanos = TimeUnit.MILLISECONDS.toNanos(ejectMillis);
+        this.acquireMillis = acquireMillis;
+    }
+
+    public PooledConnection borrowForRead() {
+        List<Node> tried = new ArrayList<>(replicas.size());
+        Node node;
+        while ((node = leastInFlight(tried)) != null) {
+            tried.add(node);
+            try {
+                var connection = node.pool.tryBorrow(acquireMillis);
+                if (connection != null) {
+                    return connection;
+                }
+            } catch (ConnectionPoolException e) {
+                if (!(e.getCause() instanceof SQLException)) {
+                    throw e;
+                }
+                node.ejectedUntilNanos = System.nanoTime() + ejectNanos;
+            }
+        }
+        return primary.borrow();
+    }
+
+    public int healthyReplicas() {
+        var now = System.nanoTime();
+        return (int) replicas.stream().filter(node -> node.isHealthy(now)).count();
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(node -> node.pool.close());
+    }
+
+    private Node leastInFlight(List<Node> tried) {
+        var now = System.nanoTime();
+        Node best = null;
+        for (var node : replicas) {
+            if (node.isHealthy(now) && !tried.contains(node) && (best == null
+                    || node.pool.activeConnections() < best.pool.activeConnections())) {
+                best = node;
+            }
+        }
+        return best;
+    }
+
+    private static class Node {
+        private final ConnectionPool pool;
+        private volatile long ejectedUntilNanos;
+
+        private Node(ConnectionPool pool) {
+            this.pool = pool;
+            this.ejectedUntilNanos = System.nanoTime();
+        }
+
+        private boolean isHealthy(long now) {
+            return now - ejectedUntilNanos >= 0;
+        }
+    }
+}
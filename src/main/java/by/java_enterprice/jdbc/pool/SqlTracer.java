@@ -0,0 +1,145 @@
+package by.java_enterprice.jdbc.pool;
+
+import java.lang.System.Logger.Level;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+public class SqlTracer {
+    private static final System.Logger LOG = System.getLogger("by.java_enterprice.jdbc.sql");
+    private static final System.Logger SLOW_LOG = System.getLogger("by.java_enterprice.jdbc.sql.slow");
+    private static final Object[] NO_PARAMETERS = new Object[0];
+    private static final Pattern COMPARISON = Pattern.compile("\\s*(=|<>|!=|like|ilike)\\s*(any\\s*\\(\\s*)?\\?");
+    private static final Pattern INSERT = Pattern.compile("insert\\s+into\\s+\\S+\\s*\\(([^)]*)\\)\\s*values\\s*\\(");
+
+    private final ConnectionPool pool;
+    private final TraceConfig config;
+    private final long slowThresholdNanos;
+    private final Map<String, BitSet> redactions = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedDeque<StatementTrace> slowQueries = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger slowQueryCount = new AtomicInteger();
+
+    SqlTracer(ConnectionPool pool, TraceConfig config) {
+        this.pool = pool;
+        this.config = config;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(config.slowThresholdMillis());
+    }
+
+    public boolean isEnabled() {
+        return config.enabled();
+    }
+
+    public List<StatementTrace> recentSlowQueries() {
+        return new ArrayList<>(slowQueries);
+    }
+
+    public String explainAnalyze(StatementTrace trace) throws SQLException {
+        return explainAnalyze(trace.sql(), trace.rawParameters());
+    }
+
+    public String explainAnalyze(String sql, Object... parameters) throws SQLException {
+        var connection = pool.borrow();
+        try {
+            var delegate = connection.delegate();
+            delegate.setAutoCommit(false);
+            try (var statement = delegate.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    statement.setObject(i + 1, parameters[i]);
+                }
+                var plan = new StringBuilder();
+                try (var result = statement.executeQuery()) {
+                    while (result.next()) {
+                        plan.append(result.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            } finally {
+                delegate.rollback();
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    StatementTrace begin(String sql, Object[] parameters, int batchSize) {
+        var snapshot = parameters == null ? NO_PARAMETERS : parameters.clone();
+        return new StatementTrace(sql, snapshot, redactions.computeIfAbsent(sql, this::sensitiveParameters), batchSize);
+    }
+
+    void complete(StatementTrace trace) {
+        if (trace.totalNanos() >= slowThresholdNanos) {
+            SLOW_LOG.log(Level.WARNING, trace);
+            remember(trace);
+        } else if (LOG.isLoggable(Level.DEBUG)) {
+            LOG.log(Level.DEBUG, trace);
+        }
+    }
+
+    private void remember(StatementTrace trace) {
+        slowQueries.offerFirst(trace);
+        if (slowQueryCount.incrementAndGet() > config.slowLogSize()) {
+            if (slowQueries.pollLast() != null) {
+                slowQueryCount.decrementAndGet();
+            }
+        }
+    }
+
+    private BitSet sensitiveParameters(String sql) {
+        var sensitive = new BitSet();
+        if (config.redactedColumns().isEmpty()) {
+            return sensitive;
+        }
+        var lower = sql.toLowerCase(Locale.ROOT);
+        var placeholders = placeholders(lower);
+
+        for (String column : config.redactedColumns()) {
+            var from = 0;
+            int at;
+            while ((at = lower.indexOf(column, from)) >= 0) {
+                from = at + column.length();
+                var comparison = COMPARISON.matcher(lower).region(from, lower.length());
+                if (comparison.lookingAt()) {
+                    sensitive.set(placeholderIndex(placeholders, comparison.end() - 1));
+                }
+            }
+
+            var insert = INSERT.matcher(lower);
+            if (insert.find()) {
+                var columns = insert.group(1).split(",");
+                for (int i = 0; i < columns.length; i++) {
+                    var first = placeholderIndex(placeholders, lower.indexOf('?', insert.end()));
+                    if (first > 0 && columns[i].strip().equals(column)) {
+                        sensitive.set(first + i);
+                    }
+                }
+            }
+        }
+        return sensitive;
+    }
+
+    private static List<Integer> placeholders(String sql) {
+        List<Integer> positions = new ArrayList<>();
+        var quoted = false;
+        for (int i = 0; i < sql.length(); i++) {
+            var c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == '?' && !quoted) {
+                positions.add(i);
+            }
+        }
+        return positions;
+    }
+
+    private static int placeholderIndex(List<Integer> placeholders, int position) {
+        return placeholders.indexOf(position) + 1;
+    }
+}
@@ -0,0 +1,90 @@
+package by.java_enterprice.jdbc.pool;
+
+import by.java_enterprice.jdbc.metrics.PoolMetrics;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class StatementCache {
+    private final int maxSize;
+    private final PoolMetrics metrics;
+    private final LinkedHashMap<StatementKey, PreparedStatement> statements;
+
+    StatementCache(int maxSize, PoolMetrics metrics) {
+        this.maxSize = maxSize;
+        this.metrics = metrics;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<StatementKey, PreparedStatement> eldest) {
+                if (size() > StatementCache.this.maxSize) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    PreparedStatement take(StatementKey key) {
+        var statement = statements.remove(key);
+        if (statement == null) {
+            metrics.recordStatementCacheMiss();
+        } else {
+            metrics.recordStatementCacheHit();
+        }
+        return statement;
+    }
+
+    void release(StatementKey key, PreparedStatement statement) throws SQLException {
+        if (statement.isClosed()) {
+            return;
+        }
+        if (statements.containsKey(key)) {
+            statement.close();
+            return;
+        }
+
+        try {
+            var result = statement.getResultSet();
+            if (result != null) {
+                result.close();
+            }
+            statement.clearParameters();
+            statement.clearBatch();
+            if (statement.getFetchSize() != 0) {
+                statement.setFetchSize(0);
+            }
+            if (statement.getMaxRows() != 0) {
+                statement.setMaxRows(0);
+            }
+            if (statement.getQueryTimeout() != 0) {
+                statement.setQueryTimeout(0);
+            }
+        } catch (SQLException e) {
+            statement.close();
+            throw e;
+        }
+        statements.put(key, statement);
+    }
+
+    void closeAll() {
+        for (var statement : new ArrayList<>(statements.values())) {
+            closeQuietly(statement);
+        }
+        statements.clear();
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+        }
+    }
+}
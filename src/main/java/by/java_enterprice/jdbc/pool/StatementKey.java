@@ -0,0 +1,9 @@
+package by.java_enterprice.jdbc.pool;
+
+record StatementKey(
+        String sql,
+        int resultSetType,
+        int resultSetConcurrency,
+        int resultSetHoldability,
+        int autoGeneratedKeys) {
+}
@@ -0,0 +1,115 @@
+package by.java_enterprice.jdbc.pool;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class StatementTrace {
+    private static final String REDACTED = "***";
+
+    private final String sql;
+    private final Object[] parameters;
+    private final BitSet redacted;
+    private final int batchSize;
+    private long executeNanos;
+    private long fetchNanos;
+    private long rows = -1;
+    private boolean failed;
+
+    StatementTrace(String sql, Object[] parameters, BitSet redacted, int batchSize) {
+        this.sql = sql;
+        this.parameters = parameters;
+        this.redacted = redacted;
+        this.batchSize = batchSize;
+    }
+
+    public String sql() {
+        return sql;
+    }
+
+    public List<String> parameters() {
+        List<String> values = new ArrayList<>(parameters.length);
+        for (int i = 0; i < parameters.length; i++) {
+            values.add(redacted.get(i + 1) ? REDACTED : format(parameters[i]));
+        }
+        return values;
+    }
+
+    public int batchSize() {
+        return batchSize;
+    }
+
+    public long executeNanos() {
+        return executeNanos;
+    }
+
+    public long fetchNanos() {
+        return fetchNanos;
+    }
+
+    public long totalNanos() {
+        return executeNanos + fetchNanos;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public boolean failed() {
+        return failed;
+    }
+
+    Object[] rawParameters() {
+        return parameters;
+    }
+
+    void executed(long nanos) {
+        executeNanos = nanos;
+    }
+
+    void fetched(long nanos, long rows) {
+        fetchNanos = nanos;
+        this.rows = rows;
+    }
+
+    void completed(long rows) {
+        this.rows = rows;
+    }
+
+    void markFailed() {
+        failed = true;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.3f ms (execute %.3f ms, fetch %.3f ms, rows %d%s%s) %s %s",
+                millis(totalNanos()), millis(executeNanos), millis(fetchNanos), rows,
+                batchSize > 0 ? ", batch " + batchSize : "",
+                failed ? ", failed" : "",
+                sql.strip().replaceAll("\\s+", " "),
+                parameters());
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static String format(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof String text) {
+            return "'" + text + "'";
+        }
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        if (value instanceof InputStream || value instanceof Reader) {
+            return "<stream>";
+        }
+        return String.valueOf(value);
+    }
+}
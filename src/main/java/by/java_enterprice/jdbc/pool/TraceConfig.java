@@ -0,0 +1,14 @@
+package by.java_enterprice.jdbc.pool;
+
+import java.util.Set;
+
+public record TraceConfig(
+        boolean enabled,
+        long slowThresholdMillis,
+        Set<String> redactedColumns,
+        int slowLogSize) {
+
+    public static TraceConfig disabled() {
+        return new TraceConfig(false, Long.MAX_VALUE, Set.of(), 0);
+    }
+}
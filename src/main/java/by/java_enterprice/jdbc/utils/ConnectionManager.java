@@ -1,58 +1,164 @@
 package by.java_enterprice.jdbc.utils;
 
-import java.lang.reflect.Proxy;
+import by.java_enterprice.jdbc.exception.DaoException;
+import by.java_enterprice.jdbc.pool.ConnectionPool;
+import by.java_enterprice.jdbc.pool.PoolConfig;
+import by.java_enterprice.jdbc.pool.ReplicaRouter;
+import by.java_enterprice.jdbc.pool.TraceConfig;
+
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
 
 public final class ConnectionManager {
     private static final String URL_KEY = "db.url";
     private static final String USERNAME_KEY = "db.username";
     private static final String PASSWORD_KEY = "db.password";
-    private static final int DEFAULT_POOL_SIZE = 10;
+    private static final String REWRITE_BATCHED_INSERTS_KEY = "db.reWriteBatchedInserts";
     private static final String POOL_SIZE_KEY = "db.pool.size";
-    private static BlockingQueue<Connection> pool;
+    private static final String POOL_MIN_SIZE_KEY = "db.pool.min.size";
+    private static final String ACQUIRE_TIMEOUT_KEY = "db.pool.acquire.timeout.ms";
+    private static final String IDLE_TIMEOUT_KEY = "db.pool.idle.timeout.ms";
+    private static final String VALIDATION_INTERVAL_KEY = "db.pool.validation.interval.ms";
+    private static final String VALIDATION_TIMEOUT_KEY = "db.pool.validation.timeout.sec";
+    private static final String STATEMENT_CACHE_SIZE_KEY = "db.pool.statement.cache.size";
+    private static final String REPLICA_URLS_KEY = "db.replica.urls";
+    private static final String REPLICA_EJECT_KEY = "db.replica.eject.ms";
+    private static final String REPLICA_ACQUIRE_TIMEOUT_KEY = "db.replica.acquire.timeout.ms";
+    private static final String SCHEMA_APPLY_KEY = "db.schema.apply";
+    private static final String SCHEMA_SCRIPT = "db/ticket_version.sql";
+    private static final String TRACE_ENABLED_KEY = "db.trace.enabled";
+    private static final String TRACE_SLOW_KEY = "db.trace.slow.ms";
+    private static final String TRACE_REDACT_KEY = "db.trace.redact.columns";
+    private static final String TRACE_SLOW_LOG_SIZE_KEY = "db.trace.slow.log.size";
+    private static final int DEFAULT_POOL_SIZE = 10;
+    private static final int DEFAULT_POOL_MIN_SIZE = 1;
+    private static final long DEFAULT_ACQUIRE_TIMEOUT = 30_000;
+    private static final long DEFAULT_IDLE_TIMEOUT = 600_000;
+    private static final long DEFAULT_VALIDATION_INTERVAL = 500;
+    private static final int DEFAULT_VALIDATION_TIMEOUT = 5;
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+    private static final long DEFAULT_REPLICA_EJECT = 30_000;
+    private static final long DEFAULT_REPLICA_ACQUIRE_TIMEOUT = 50;
+    private static final long DEFAULT_TRACE_SLOW = 200;
+    private static final String DEFAULT_TRACE_REDACT = "passport_no";
+    private static final int DEFAULT_TRACE_SLOW_LOG_SIZE = 100;
+    private static ConnectionPool pool;
+    private static ReplicaRouter replicas;
 
     static {
         initConnectionPool();
     }
 
     private static void initConnectionPool() {
-        String poolSize = PropertiesUtil.get("db.pool.size");
-        int size = poolSize == null ? DEFAULT_POOL_SIZE : Integer.parseInt(poolSize);
-        pool = new ArrayBlockingQueue(size);
-
-        for (int i = 0; i < size; i++) {
-            Connection connection = open();
-            var proxyConnection = (Connection) Proxy.newProxyInstance(
-                    ConnectionManager.class.getClassLoader(),
-                    new Class[]{Connection.class},
-                    (proxy, method, args) -> method.getName().equals("close") ?
-                            pool.add((Connection) proxy) :
-                            method.invoke(connection, args));
-            pool.add(proxyConnection);
+        int maxSize = getInt(POOL_SIZE_KEY, DEFAULT_POOL_SIZE);
+        var config = new PoolConfig(
+                PropertiesUtil.get(URL_KEY),
+                driverProperties(),
+                Math.min(getInt(POOL_MIN_SIZE_KEY, DEFAULT_POOL_MIN_SIZE), maxSize),
+                maxSize,
+                getLong(ACQUIRE_TIMEOUT_KEY, DEFAULT_ACQUIRE_TIMEOUT),
+                getLong(IDLE_TIMEOUT_KEY, DEFAULT_IDLE_TIMEOUT),
+                getLong(VALIDATION_INTERVAL_KEY, DEFAULT_VALIDATION_INTERVAL),
+                getInt(VALIDATION_TIMEOUT_KEY, DEFAULT_VALIDATION_TIMEOUT),
+                getInt(STATEMENT_CACHE_SIZE_KEY, DEFAULT_STATEMENT_CACHE_SIZE),
+                traceConfig());
+        pool = new ConnectionPool("primary", config);
+        String applySchema = PropertiesUtil.get(SCHEMA_APPLY_KEY);
+        if (applySchema == null || Boolean.parseBoolean(applySchema)) {
+            applySchema();
         }
+        replicas = new ReplicaRouter(pool, replicaPools(config), getLong(REPLICA_EJECT_KEY, DEFAULT_REPLICA_EJECT),
+                getLong(REPLICA_ACQUIRE_TIMEOUT_KEY, DEFAULT_REPLICA_ACQUIRE_TIMEOUT));
     }
 
-    public static Connection get() {
-        try {
-            return pool.take();
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
+    private static List<ConnectionPool> replicaPools(PoolConfig primary) {
+        List<ConnectionPool> pools = new ArrayList<>();
+        String urls = PropertiesUtil.get(REPLICA_URLS_KEY);
+        if (urls == null || urls.isBlank()) {
+            return pools;
+        }
+        for (String url : urls.split(",")) {
+            var config = new PoolConfig(
+                    url.strip(),
+                    primary.driverProperties(),
+                    0,
+                    primary.maxSize(),
+                    primary.acquireTimeoutMillis(),
+                    primary.idleTimeoutMillis(),
+                    primary.validationIntervalMillis(),
+                    primary.validationTimeoutSeconds(),
+                    primary.statementCacheSize(),
+                    primary.trace());
+            pools.add(new ConnectionPool("replica-" + (pools.size() + 1), config));
         }
+        return pools;
+    }
+
+    public static Connection get() {
+        var connection = TransactionManager.currentConnection();
+        return connection != null ? connection : pool.borrow();
+    }
+
+    public static Connection getReadOnly() {
+        var connection = TransactionManager.currentConnection();
+        return connection != null ? connection : replicas.borrowForRead();
+    }
+
+    public static ConnectionPool pool() {
+        return pool;
     }
 
-    private static Connection open() {
-        try {
-            return DriverManager.getConnection(
-                    PropertiesUtil.get(URL_KEY),
-                    PropertiesUtil.get(USERNAME_KEY),
-                    PropertiesUtil.get(PASSWORD_KEY));
+    public static ReplicaRouter replicas() {
+        return replicas;
+    }
+
+    private static void applySchema() {
+        try (var connection = pool.borrow()) {
+            SqlScripts.run(connection, SCHEMA_SCRIPT, Map.of());
         } catch (SQLException e) {
-            throw new RuntimeException(e);
+            throw new DaoException(e);
+        }
+    }
+
+    private static TraceConfig traceConfig() {
+        if (!Boolean.parseBoolean(PropertiesUtil.get(TRACE_ENABLED_KEY))) {
+            return TraceConfig.disabled();
         }
+        String columns = PropertiesUtil.get(TRACE_REDACT_KEY);
+        return new TraceConfig(
+                true,
+                getLong(TRACE_SLOW_KEY, DEFAULT_TRACE_SLOW),
+                Arrays.stream((columns == null ? DEFAULT_TRACE_REDACT : columns).split(","))
+                        .map(column -> column.strip().toLowerCase(Locale.ROOT))
+                        .filter(column -> !column.isEmpty())
+                        .collect(Collectors.toUnmodifiableSet()),
+                getInt(TRACE_SLOW_LOG_SIZE_KEY, DEFAULT_TRACE_SLOW_LOG_SIZE));
+    }
+
+    private static Properties driverProperties() {
+        var properties = new Properties();
+        properties.setProperty("user", PropertiesUtil.get(USERNAME_KEY));
+        properties.setProperty("password", PropertiesUtil.get(PASSWORD_KEY));
+        properties.setProperty("reWriteBatchedInserts",
+                String.valueOf(Boolean.parseBoolean(PropertiesUtil.get(REWRITE_BATCHED_INSERTS_KEY))));
+        return properties;
+    }
+
+    private static int getInt(String key, int defaultValue) {
+        String value = PropertiesUtil.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    private static long getLong(String key, long defaultValue) {
+        String value = PropertiesUtil.get(key);
+        return value == null ? defaultValue : Long.parseLong(value);
     }
 
     private ConnectionManager() {}
@@ -0,0 +1,25 @@
+package by.java_enterprice.jdbc.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class DaoExecutors {
+    private static final ExecutorService SHARED = newBoundedExecutor("dao-async",
+            ConnectionManager.pool().config().maxSize());
+
+    public static ExecutorService shared() {
+        return SHARED;
+    }
+
+    public static ExecutorService newBoundedExecutor(String name, int threads) {
+        var counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            var thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private DaoExecutors() {}
+}
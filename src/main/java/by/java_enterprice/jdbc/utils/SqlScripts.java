@@ -0,0 +1,34 @@
+package by.java_enterprice.jdbc.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+public final class SqlScripts {
+
+    public static void run(Connection connection, String resource, Map<String, String> placeholders)
+            throws SQLException {
+        var sql = load(resource);
+        for (var placeholder : placeholders.entrySet()) {
+            sql = sql.replace("${" + placeholder.getKey() + "}", placeholder.getValue());
+        }
+        try (var statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static String load(String resource) {
+        try (var inputStream = SqlScripts.class.getClassLoader().getResourceAsStream(resource)) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException("SQL script not found: " + resource);
+            }
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private SqlScripts() {}
+}
@@ -0,0 +1,9 @@
+package by.java_enterprice.jdbc.utils;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface TransactionAction {
+    void execute(Connection connection) throws SQLException;
+}
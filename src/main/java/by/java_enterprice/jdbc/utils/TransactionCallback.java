@@ -0,0 +1,9 @@
+package by.java_enterprice.jdbc.utils;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface TransactionCallback<T> {
+    T execute(Connection connection) throws SQLException;
+}
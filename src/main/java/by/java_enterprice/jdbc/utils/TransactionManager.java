@@ -0,0 +1,108 @@
+package by.java_enterprice.jdbc.utils;
+
+import by.java_enterprice.jdbc.exception.DaoException;
+import by.java_enterprice.jdbc.pool.PooledConnection;
+
+import java.lang.System.Logger.Level;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class TransactionManager {
+    private static final System.Logger LOG = System.getLogger(TransactionManager.class.getName());
+    private static final ThreadLocal<PooledConnection> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<List<Runnable>> AFTER_COMMIT = new ThreadLocal<>();
+
+    public static <T> T inTransaction(TransactionCallback<T> work) {
+        var current = CURRENT.get();
+        if (current != null) {
+            return join(current, work);
+        }
+
+        var connection = ConnectionManager.pool().borrow();
+        List<Runnable> callbacks = new ArrayList<>();
+        T result;
+        try {
+            connection.setAutoCommit(false);
+            connection.bind();
+            CURRENT.set(connection);
+            AFTER_COMMIT.set(callbacks);
+
+            result = work.execute(connection);
+            connection.commit();
+        } catch (SQLException e) {
+            rollbackQuietly(connection, e);
+            throw new DaoException(e);
+        } catch (RuntimeException | Error e) {
+            rollbackQuietly(connection, e);
+            throw e;
+        } finally {
+            CURRENT.remove();
+            AFTER_COMMIT.remove();
+            connection.unbind();
+            closeQuietly(connection);
+        }
+        runCallbacks(callbacks);
+        return result;
+    }
+
+    public static void runInTransaction(TransactionAction work) {
+        inTransaction(connection -> {
+            work.execute(connection);
+            return null;
+        });
+    }
+
+    public static void afterCommit(Runnable callback) {
+        var callbacks = AFTER_COMMIT.get();
+        if (callbacks != null) {
+            callbacks.add(callback);
+        } else {
+            callback.run();
+        }
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    static Connection currentConnection() {
+        return CURRENT.get();
+    }
+
+    private static <T> T join(Connection connection, TransactionCallback<T> work) {
+        try {
+            return work.execute(connection);
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    private static void runCallbacks(List<Runnable> callbacks) {
+        for (Runnable callback : callbacks) {
+            try {
+                callback.run();
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "After-commit callback failed", e);
+            }
+        }
+    }
+
+    private static void rollbackQuietly(Connection connection, Throwable cause) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private TransactionManager() {}
+}
@@ -0,0 +1,26 @@
+CREATE OR REPLACE FUNCTION notify_entity_change() RETURNS trigger AS $$
+DECLARE
+    new_row jsonb := CASE WHEN TG_OP = 'DELETE' THEN NULL ELSE to_jsonb(NEW) END;
+    old_row jsonb := CASE WHEN TG_OP = 'INSERT' THEN NULL ELSE to_jsonb(OLD) END;
+BEGIN
+    PERFORM pg_notify('${channel}', concat_ws(',',
+            TG_TABLE_NAME,
+            TG_OP,
+            COALESCE(new_row, old_row) ->> 'id',
+            COALESCE(COALESCE(new_row, old_row) ->> 'flight_id', ''),
+            COALESCE(old_row ->> 'flight_id', ''),
+            COALESCE(old_row ->> 'seat_no', ''),
+            COALESCE(new_row ->> 'seat_no', '')));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS flight_change_feed ON flight;
+CREATE TRIGGER flight_change_feed
+    AFTER INSERT OR UPDATE OR DELETE ON flight
+    FOR EACH ROW EXECUTE FUNCTION notify_entity_change();
+
+DROP TRIGGER IF EXISTS ticket_change_feed ON ticket;
+CREATE TRIGGER ticket_change_feed
+    AFTER INSERT OR UPDATE OR DELETE ON ticket
+    FOR EACH ROW EXECUTE FUNCTION notify_entity_change();
@@ -0,0 +1,11 @@
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1
+                   FROM information_schema.columns
+                   WHERE table_schema = current_schema()
+                     AND table_name = 'ticket'
+                     AND column_name = 'version') THEN
+        ALTER TABLE ticket ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+    END IF;
+END;
+$$;
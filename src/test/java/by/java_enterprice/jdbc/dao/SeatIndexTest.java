@@ -0,0 +1,91 @@
+package by.java_enterprice.jdbc.dao;
+
+import by.java_enterprice.jdbc.entity.Ticket;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeatIndexTest {
+    private static final long FLIGHT_ID = 1L;
+
+    @Test
+    void bookDuringBlockedLoadIsNotLost() throws Exception {
+        var loadStarted = new CountDownLatch(1);
+        var releaseLoad = new CountDownLatch(1);
+        var loads = new AtomicInteger();
+        var index = new SeatIndex(flightId -> {
+            if (loads.incrementAndGet() == 1) {
+                loadStarted.countDown();
+                await(releaseLoad);
+                return Map.of(10L, "1A");
+            }
+            return Map.of(10L, "1A", 11L, "1B");
+        });
+
+        var reader = CompletableFuture.supplyAsync(() -> index.isFree(FLIGHT_ID, "1B"));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+        index.onSaved(ticket(11L, "1B"));
+        releaseLoad.countDown();
+
+        assertFalse(reader.get(5, TimeUnit.SECONDS));
+        assertFalse(index.isFree(FLIGHT_ID, "1B"));
+        assertEquals(2, index.occupiedSeats(FLIGHT_ID));
+    }
+
+    @Test
+    void releaseDuringBlockedLoadIsNotLost() throws Exception {
+        var loadStarted = new CountDownLatch(1);
+        var releaseLoad = new CountDownLatch(1);
+        var loads = new AtomicInteger();
+        var index = new SeatIndex(flightId -> {
+            if (loads.incrementAndGet() == 1) {
+                loadStarted.countDown();
+                await(releaseLoad);
+                return Map.of(10L, "1A", 11L, "1B");
+            }
+            return Map.of(10L, "1A");
+        });
+
+        var reader = CompletableFuture.supplyAsync(() -> index.occupiedSeats(FLIGHT_ID));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+        index.onDeleted(11L);
+        releaseLoad.countDown();
+
+        assertEquals(1, reader.get(5, TimeUnit.SECONDS));
+        assertTrue(index.isFree(FLIGHT_ID, "1B"));
+    }
+
+    @Test
+    void bookAfterLoadUpdatesCachedSeats() {
+        var index = new SeatIndex(flightId -> Map.of(10L, "1A"));
+
+        assertTrue(index.isFree(FLIGHT_ID, "2C"));
+        index.onSaved(ticket(12L, "2C"));
+        assertFalse(index.isFree(FLIGHT_ID, "2C"));
+
+        index.onDeleted(12L);
+        assertTrue(index.isFree(FLIGHT_ID, "2C"));
+    }
+
+    private static Ticket ticket(Long id, String seatNo) {
+        return new Ticket(id, null, null, seatNo, FLIGHT_ID, null, null);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}